@@ -0,0 +1,145 @@
+package com.studyGroup.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.studyGroup.backend.dto.CourseSummaryDTO;
+import com.studyGroup.backend.dto.DashboardDTO;
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.dto.PeerUserDTO;
+import com.studyGroup.backend.dto.SuggestedPeerDTO;
+import com.studyGroup.backend.dto.UserSummaryDTO;
+import com.studyGroup.backend.model.Course;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response bodies of the list-heavy endpoints written the way the HTTP message converter
+ * writes them, with and without Blackbird and with and without gzip. Throughput is responses
+ * per second; the "bytes" counter is what goes on the wire per second (compressed for gzip).
+ * Payloads are synthetic with a fixed seed so runs compare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"default", "blackbird"})
+    private String mapper;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"50", "2000"})
+    private int elements;
+
+    private ObjectWriter writer;
+
+    private List<GroupDTO> groups;
+
+    private DashboardDTO dashboard;
+
+    private List<SuggestedPeerDTO> peers;
+
+    private List<Course> courses;
+
+    /** Bytes written per operation, reported by JMH as a rate next to the throughput. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Wire {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        writer = objectMapper.writer();
+
+        Random random = new Random(42);
+        courses = new ArrayList<>();
+        for (int i = 0; i < elements; i++) {
+            courses.add(new Course("C" + i, "Course " + i, "Lectures, labs and weekly problem sets for course " + i));
+        }
+        groups = new ArrayList<>();
+        for (int i = 0; i < elements; i++) {
+            Course course = courses.get(random.nextInt(elements));
+            UserSummaryDTO creator = new UserSummaryDTO((long) i, "User " + i, "user" + i + "@example.com",
+                    "Studying " + course.getCourseName(), "Member");
+            groups.add(new GroupDTO((long) i, "Group " + i, "Weekly study group for " + course.getCourseName(),
+                    new CourseSummaryDTO(course.getCourseId(), course.getCourseName()), creator,
+                    i % 3 == 0 ? "private" : "public", 25, random.nextInt(25), i % 3 == 0, "Member"));
+        }
+        peers = new ArrayList<>();
+        for (int i = 0; i < elements; i++) {
+            Set<String> common = new LinkedHashSet<>();
+            for (int c = 0; c < 1 + random.nextInt(5); c++) {
+                common.add(courses.get(random.nextInt(elements)).getCourseId());
+            }
+            peers.add(new SuggestedPeerDTO(new PeerUserDTO(i, "Peer " + i, "University " + random.nextInt(20)),
+                    common.size(), common));
+        }
+        dashboard = new DashboardDTO(groups, peers, 5);
+    }
+
+    @Benchmark
+    public void allGroups(Wire wire) throws IOException {
+        wire.bytes += write(groups);
+    }
+
+    @Benchmark
+    public void dashboard(Wire wire) throws IOException {
+        wire.bytes += write(dashboard);
+    }
+
+    @Benchmark
+    public void suggestedPeers(Wire wire) throws IOException {
+        wire.bytes += write(peers);
+    }
+
+    @Benchmark
+    public void courseCatalogue(Wire wire) throws IOException {
+        wire.bytes += write(courses);
+    }
+
+    private long write(Object body) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        OutputStream out = compression.equals("gzip") ? new GZIPOutputStream(counter, 8192) : counter;
+        try (out) {
+            writer.writeValue(out, body);
+        }
+        return counter.count;
+    }
+
+    /** Discards the body and keeps its length, so the benchmark does not measure buffer copies. */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.studyGroup.backend.service;
+
+import com.studyGroup.backend.dto.SuggestedPeerDTO;
+import com.studyGroup.backend.model.Profile;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.ProfileRepository;
+import com.studyGroup.backend.repository.UsersRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Peer suggestions for one user against a synthetic population: every user is enrolled in
+ * coursesPerUser courses drawn from a catalogue of 200, with a fixed seed so runs compare.
+ * Repositories are stubbed; the time is course-JSON parsing, set intersection and sorting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashboardServiceBenchmark {
+
+    private static final int CATALOGUE_SIZE = 200;
+
+    @Param({"100", "10000"})
+    private int users;
+
+    @Param({"5"})
+    private int coursesPerUser;
+
+    private DashboardService dashboardService;
+
+    private User currentUser;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<User> allUsers = new ArrayList<>();
+        List<Profile> allProfiles = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            allUsers.add(user);
+
+            StringJoiner courses = new StringJoiner(",", "[", "]");
+            for (int c = 0; c < coursesPerUser; c++) {
+                courses.add("\"C" + random.nextInt(CATALOGUE_SIZE) + "\"");
+            }
+            Profile profile = new Profile();
+            profile.setEmail(user.getEmail());
+            profile.setEnrolledCourseIds(courses.toString());
+            allProfiles.add(profile);
+        }
+        currentUser = allUsers.get(0);
+
+        UsersRepository usersRepository = Mockito.mock(UsersRepository.class);
+        Mockito.when(usersRepository.findAll()).thenReturn(allUsers);
+        ProfileRepository profileRepository = Mockito.mock(ProfileRepository.class);
+        Mockito.when(profileRepository.findAll()).thenReturn(allProfiles);
+        Mockito.when(profileRepository.findByEmail(currentUser.getEmail())).thenReturn(Optional.of(allProfiles.get(0)));
+
+        dashboardService = new DashboardService();
+        ReflectionTestUtils.setField(dashboardService, "usersRepository", usersRepository);
+        ReflectionTestUtils.setField(dashboardService, "profileRepository", profileRepository);
+    }
+
+    @Benchmark
+    public List<SuggestedPeerDTO> getSuggestedPeers() throws IOException {
+        return dashboardService.getSuggestedPeers(currentUser);
+    }
+}
@@ -0,0 +1,52 @@
+package com.studyGroup.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.studyGroup.backend.dto.RenderedEmail;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render throughput of the compiled registration-otp template (subject, text and HTML)
+ * against the String.format body it replaced (text only).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String FORMAT = "Hello %s,\n\n"
+            + "We received a request to reset your password. \n\n"
+            + "Your One-Time Password (OTP) is: %s\n\n"
+            + "This OTP is valid for 5 minutes. Do not share it with anyone.\n\n"
+            + "If you did not request this, please ignore this email.\n\n"
+            + "Best regards,\nThe Study Group Finder Team";
+
+    private EmailTemplateService emailTemplateService;
+
+    private Map<String, String> values;
+
+    @Setup
+    public void setUp() {
+        emailTemplateService = new EmailTemplateService();
+        ReflectionTestUtils.setField(emailTemplateService, "location", "classpath*:templates/email/");
+        emailTemplateService.init();
+        values = Map.of("name", "Bench User", "otp", "042137");
+    }
+
+    @Benchmark
+    public RenderedEmail compiledTemplate() {
+        return emailTemplateService.render("password-reset-otp", Locale.ENGLISH, values);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(FORMAT, values.get("name"), values.get("otp"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.studyGroup.backend.service;
+
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.Group;
+import com.studyGroup.backend.model.Profile;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.GroupMemberRepository;
+import com.studyGroup.backend.repository.GroupRepository;
+import com.studyGroup.backend.repository.ProfileRepository;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group to GroupDTO conversion for the group list endpoints, with the repositories stubbed
+ * so only the conversion (count and profile lookups by id/email, DTO building) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupServiceBenchmark {
+
+    @Param({"10", "1000"})
+    private int groups;
+
+    private GroupService groupService;
+
+    @Setup
+    public void setUp() {
+        Course course = new Course("CS101", "Intro to CS", "Basics");
+        List<Group> allGroups = new ArrayList<>();
+        List<Object[]> memberCounts = new ArrayList<>();
+        List<Profile> creatorProfiles = new ArrayList<>();
+        for (int i = 0; i < groups; i++) {
+            User creator = new User();
+            creator.setId(i);
+            creator.setName("Creator " + i);
+            creator.setEmail("creator" + i + "@example.com");
+
+            Group group = new Group();
+            group.setGroupId((long) i);
+            group.setName("Group " + i);
+            group.setDescription("Benchmark group " + i);
+            group.setAssociatedCourse(course);
+            group.setCreatedBy(creator);
+            group.setPrivacy(i % 2 == 0 ? "public" : "private");
+            group.setPasskey(i % 4 == 1 ? "secret" : null);
+            group.setMemberLimit(50);
+            allGroups.add(group);
+            memberCounts.add(new Object[]{(long) i, (long) (i % 50)});
+
+            Profile profile = new Profile();
+            profile.setEmail(creator.getEmail());
+            profile.setAboutMe("About creator " + i);
+            creatorProfiles.add(profile);
+        }
+
+        GroupRepository groupRepository = Mockito.mock(GroupRepository.class);
+        Mockito.when(groupRepository.findAll()).thenReturn(allGroups);
+        GroupMemberRepository groupMemberRepository = Mockito.mock(GroupMemberRepository.class);
+        Mockito.when(groupMemberRepository.countByGroupIds(ArgumentMatchers.any())).thenReturn(memberCounts);
+        ProfileRepository profileRepository = Mockito.mock(ProfileRepository.class);
+        Mockito.when(profileRepository.findByEmailIn(ArgumentMatchers.any())).thenReturn(creatorProfiles);
+
+        groupService = new GroupService();
+        ReflectionTestUtils.setField(groupService, "groupRepository", groupRepository);
+        ReflectionTestUtils.setField(groupService, "groupMemberRepository", groupMemberRepository);
+        ReflectionTestUtils.setField(groupService, "profileRepository", profileRepository);
+    }
+
+    @Benchmark
+    public List<GroupDTO> getAllGroups() {
+        return groupService.getAllGroups();
+    }
+}
@@ -0,0 +1,57 @@
+package com.studyGroup.backend.service;
+
+import com.studyGroup.backend.repository.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation throughput. A cache size of 0 disables the verified-token cache,
+ * so every call pays for signature verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+    @Param({"0", "10000"})
+    private long cacheSize;
+
+    private JWTService jwtService;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        TokenRevocationService tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenRevocationRepository", Mockito.mock(TokenRevocationRepository.class));
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedInsertions", 100000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+        tokenRevocationService.init();
+
+        jwtService = new JWTService();
+        ReflectionTestUtils.setField(jwtService, "tokenRevocationService", tokenRevocationService);
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKeyString", "ThisIsABenchmarkOnlySecretKeyThatIsLongEnoughForHS256");
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 86400000L);
+        ReflectionTestUtils.setField(jwtService, "tokenCacheMaxSize", cacheSize);
+        jwtService.init();
+        token = jwtService.generateToken("bench.user@example.com");
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("bench.user@example.com");
+    }
+}
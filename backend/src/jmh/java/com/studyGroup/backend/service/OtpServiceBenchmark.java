@@ -0,0 +1,70 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP generation and redemption against the in-memory store. Keys cycle through a fixed
+ * set so the store stays at a steady size instead of growing for the whole run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OtpServiceBenchmark {
+
+    private static final int KEYS = 10000;
+
+    private OtpService otpService;
+
+    private String[] emails;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryOtpStore otpStore = new InMemoryOtpStore();
+        ReflectionTestUtils.setField(otpStore, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(otpStore, "maxSize", 100000L);
+        otpStore.init();
+
+        otpService = new OtpService();
+        ReflectionTestUtils.setField(otpService, "otpStore", otpStore);
+        ReflectionTestUtils.setField(otpService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(otpService, "coalesceWindow", Duration.ofSeconds(30));
+        otpService.init();
+
+        emails = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            emails[i] = "user" + i + "@example.com";
+        }
+    }
+
+    private String nextEmail() {
+        next = (next + 1) % KEYS;
+        return emails[next];
+    }
+
+    @Benchmark
+    public String generate() {
+        return otpService.generateAndCacheOtp(nextEmail());
+    }
+
+    @Benchmark
+    public boolean generateAndVerify() {
+        String email = nextEmail();
+        return otpService.verifyOtp(email, otpService.generateAndCacheOtp(email));
+    }
+
+    @Benchmark
+    public boolean verifyWrongCode() {
+        return otpService.verifyOtp(nextEmail(), "not-an-otp");
+    }
+}
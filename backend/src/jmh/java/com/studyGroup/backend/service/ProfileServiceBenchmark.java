@@ -0,0 +1,46 @@
+package com.studyGroup.backend.service;
+
+import com.studyGroup.backend.model.Profile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a profile's enrolled-course JSON into a set, the step behind every enrol,
+ * unenrol and dashboard request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfileServiceBenchmark {
+
+    @Param({"5", "50"})
+    private int courses;
+
+    private ProfileService profileService;
+
+    private Profile profile;
+
+    @Setup
+    public void setUp() {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < courses; i++) {
+            json.add("\"COURSE" + i + "\"");
+        }
+        profile = new Profile();
+        profile.setEmail("bench.user@example.com");
+        profile.setEnrolledCourseIds(json.toString());
+        profileService = new ProfileService();
+    }
+
+    @Benchmark
+    public Set<String> parseEnrolledCourseIds() throws IOException {
+        return profileService.getEnrolledCourseIdsAsSet(profile);
+    }
+}
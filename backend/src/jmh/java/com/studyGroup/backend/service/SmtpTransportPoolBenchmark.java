@@ -0,0 +1,85 @@
+package com.studyGroup.backend.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second against a local GreenMail server: one SMTP connection per mail
+ * (JavaMailSenderImpl.send) versus connections reused through SmtpTransportPool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SmtpTransportPoolBenchmark {
+
+    private GreenMail greenMail;
+
+    private JavaMailSenderImpl mailSender;
+
+    private SmtpTransportPool pool;
+
+    @Setup
+    public void setUp() {
+        greenMail = new GreenMail(new ServerSetup(3125, "localhost", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(3125);
+        mailSender.setProtocol("smtp");
+
+        pool = new SmtpTransportPool();
+        ReflectionTestUtils.setField(pool, "mailSender", mailSender);
+        ReflectionTestUtils.setField(pool, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pool, "maxConnections", 4);
+        ReflectionTestUtils.setField(pool, "idleTimeout", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(pool, "validationInterval", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(pool, "borrowTimeout", Duration.ofSeconds(10));
+        pool.init();
+    }
+
+    @TearDown(Level.Iteration)
+    public void purge() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    public void unpooled() throws MessagingException {
+        mailSender.send(message());
+    }
+
+    @Benchmark
+    public void pooled() throws MessagingException {
+        pool.send(message());
+    }
+
+    private MimeMessage message() throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("bench@example.com");
+        helper.setTo("member@example.com");
+        helper.setSubject("Your OTP");
+        helper.setText("Your verification code is 123456.");
+        return message;
+    }
+}
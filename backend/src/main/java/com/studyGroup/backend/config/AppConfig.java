@@ -1,5 +1,8 @@
 package com.studyGroup.backend.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -8,9 +11,33 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @Configuration
 public class AppConfig {
 
-    
+    private static final Logger log = LoggerFactory.getLogger(AppConfig.class);
+
+    /**
+     * The BCrypt cost every node hashes with. Pinned rather than tuned per node: hashes below
+     * the configured cost are upgraded at sign-in, so nodes with different costs would keep
+     * rehashing each other's passwords.
+     */
+    @Value("${password.bcrypt.strength:12}")
+    private int bcryptStrength;
+
+    @Value("${password.bcrypt.target-ms:250}")
+    private long bcryptTargetMillis;
+
+    @Value("${password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${password.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int recommended = BCryptStrengthTuner.recommend(bcryptTargetMillis, bcryptMinStrength, bcryptMaxStrength);
+        if (recommended != bcryptStrength) {
+            log.warn("BCrypt cost is {}, but this machine meets the {} ms target with cost {}; "
+                    + "change password.bcrypt.strength on all nodes together if that is wanted",
+                    bcryptStrength, bcryptTargetMillis, recommended);
+        }
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 }
@@ -0,0 +1,41 @@
+package com.studyGroup.backend.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.studyGroup.backend.model.User;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal stored in the SecurityContext by JwtAuthFilter. It keeps the User
+ * entity loaded during authentication so controllers don't have to look it up again.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final User user;
+
+    public AuthenticatedUser(User user) {
+        this.user = user;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public String getPassword() {
+        return user.getPassword();
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getEmail();
+    }
+}
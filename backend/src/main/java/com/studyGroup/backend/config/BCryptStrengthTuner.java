@@ -0,0 +1,44 @@
+package com.studyGroup.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Suggests a BCrypt cost for this machine at startup. One hash is timed at the minimum
+ * cost and, since every extra cost step doubles the work, the largest cost whose
+ * estimated time stays within the target is recommended. The cost actually used is
+ * password.bcrypt.strength; this is advice for choosing it.
+ */
+final class BCryptStrengthTuner {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthTuner.class);
+
+    private static final String SAMPLE_PASSWORD = "bcrypt-strength-calibration";
+
+    private BCryptStrengthTuner() {
+    }
+
+    static int recommend(long targetMillis, int minStrength, int maxStrength) {
+        // First call warms up the JIT; the faster of the two runs is used.
+        long nanos = Math.min(time(minStrength), time(minStrength));
+        double millis = nanos / 1_000_000.0;
+
+        int strength = minStrength;
+        double estimate = millis;
+        while (strength < maxStrength && estimate * 2 <= targetMillis) {
+            strength++;
+            estimate *= 2;
+        }
+
+        log.info("BCrypt cost {} recommended for this machine (cost {} took {} ms, target {} ms)",
+                strength, minStrength, String.format("%.1f", millis), targetMillis);
+        return strength;
+    }
+
+    private static long time(int strength) {
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,139 @@
+package com.studyGroup.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Routes every DataSource through StatementCountingDataSource and, unless
+     * db.concurrency.enabled=false, ConcurrencyLimitingDataSource. With db.replica.enabled
+     * a replica pool is added behind ReadWriteRoutingDataSource, with its own limiter.
+     * Static so it is registered before the DataSource bean is created.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceWrappingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    dataSource = limited(dataSource, environment.getProperty("db.concurrency.max-connections", Integer.class, 10), environment);
+                    ReplicaProperties replica = Binder.get(environment).bind("db.replica", ReplicaProperties.class)
+                            .orElseGet(ReplicaProperties::new);
+                    if (replica.isEnabled()) {
+                        HikariDataSource replicaPool = replicaPool(replica, environment);
+                        dataSource = new ReadWriteRoutingDataSource(dataSource,
+                                limited(replicaPool, replicaPool.getMaximumPoolSize(), environment));
+                    }
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static DataSource limited(DataSource dataSource, int maxConnections, Environment environment) {
+        if (!environment.getProperty("db.concurrency.enabled", Boolean.class, true)) {
+            return dataSource;
+        }
+        return new ConcurrencyLimitingDataSource(dataSource, maxConnections,
+                environment.getProperty("db.concurrency.max-waiting", Integer.class, 1000),
+                environment.getProperty("db.concurrency.acquire-timeout", Duration.class, Duration.ofSeconds(5)));
+    }
+
+    private static HikariDataSource replicaPool(ReplicaProperties replica, Environment environment) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .driverClassName(replica.getDriverClassName() != null ? replica.getDriverClassName()
+                        : environment.getProperty("spring.datasource.driver-class-name"))
+                .build();
+        pool.setPoolName("replica");
+        Binder.get(environment).bind("db.replica.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+
+    /**
+     * Routing decides per physical connection, so Hibernate must not keep one connection for
+     * the whole session (its default under Spring), or a request that read from the replica
+     * would write to it too.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /** The replica pool is not a bean of its own, so it is closed here. */
+    @Bean
+    @ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+    public DisposableBean replicaPoolShutdown(DataSource dataSource) {
+        return () -> {
+            ReadWriteRoutingDataSource routing = unwrap(dataSource, ReadWriteRoutingDataSource.class);
+            HikariDataSource pool = routing != null ? unwrap(routing.getReplica(), HikariDataSource.class) : null;
+            if (pool != null) {
+                pool.close();
+            }
+        };
+    }
+
+    /**
+     * db.concurrency.in-use, .waiting and .rejected per pool (tagged pool=primary or replica)
+     * if the limiter is installed, and db.replica.reads by target if routing is.
+     */
+    @Bean
+    public MeterBinder dbConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ReadWriteRoutingDataSource routing = unwrap(dataSource, ReadWriteRoutingDataSource.class);
+            bindLimiter(registry, "primary", unwrap(dataSource, ConcurrencyLimitingDataSource.class));
+            if (routing != null) {
+                bindLimiter(registry, "replica", unwrap(routing.getReplica(), ConcurrencyLimitingDataSource.class));
+                FunctionCounter.builder("db.replica.reads", routing, ReadWriteRoutingDataSource::getReplicaReads)
+                        .tag("target", "replica").register(registry);
+                FunctionCounter.builder("db.replica.reads", routing, ReadWriteRoutingDataSource::getPrimaryReads)
+                        .tag("target", "primary").register(registry);
+            }
+        };
+    }
+
+    private static void bindLimiter(MeterRegistry registry, String pool, ConcurrencyLimitingDataSource limiter) {
+        if (limiter == null) {
+            return;
+        }
+        Gauge.builder("db.concurrency.in-use", limiter, ConcurrencyLimitingDataSource::getInUse).tag("pool", pool).register(registry);
+        Gauge.builder("db.concurrency.waiting", limiter, ConcurrencyLimitingDataSource::getWaiting).tag("pool", pool).register(registry);
+        Gauge.builder("db.concurrency.max", limiter, ConcurrencyLimitingDataSource::getMaxConnections).tag("pool", pool).register(registry);
+        FunctionCounter.builder("db.concurrency.rejected", limiter, ConcurrencyLimitingDataSource::getRejected).tag("pool", pool).register(registry);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
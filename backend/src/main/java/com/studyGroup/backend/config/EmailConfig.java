@@ -3,9 +3,9 @@ package com.studyGroup.backend.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
+import java.time.Duration;
 import java.util.Properties;
 
 
@@ -39,9 +39,13 @@ public class EmailConfig {
     @Value("${spring.mail.properties.mail.smtp.socketFactory.class:}")
     private String socketFactoryClass;
 
+    /** Connect, read and write timeout of each SMTP operation; EmailOutboxService sizes its lease from it. */
+    @Value("${email.smtp.timeout:60s}")
+    private Duration smtpTimeout;
+
 
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(this.host);
         mailSender.setPort(this.port);
@@ -57,9 +61,10 @@ public class EmailConfig {
         
         props.put("mail.debug", this.mailDebug); 
         
-        props.put("mail.smtp.connectiontimeout", "60000"); 
-        props.put("mail.smtp.timeout", "60000");
-        props.put("mail.smtp.writetimeout", "60000");
+        String timeoutMillis = String.valueOf(smtpTimeout.toMillis());
+        props.put("mail.smtp.connectiontimeout", timeoutMillis);
+        props.put("mail.smtp.timeout", timeoutMillis);
+        props.put("mail.smtp.writetimeout", timeoutMillis);
 
         mailSender.setJavaMailProperties(props);
         return mailSender;
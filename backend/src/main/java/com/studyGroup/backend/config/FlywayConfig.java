@@ -0,0 +1,24 @@
+package com.studyGroup.backend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * With db.migration.clean-before-migrate every start drops everything in the schema and
+     * migrates from scratch, the way ddl-auto=create-drop used to. For tests; Flyway also
+     * refuses to clean unless spring.flyway.clean-disabled=false.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "db.migration.clean-before-migrate", havingValue = "true")
+    public FlywayMigrationStrategy cleanBeforeMigrate() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.studyGroup.backend.config;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hibernate hooks behind RequestQueryStats and SlowQueryLog:
+ * a StatementInspector remembers the SQL about to run on this thread, a session listener
+ * times each execution, and load/collection-initialise listeners count what was fetched.
+ * Session-wide counters (hibernate.statements etc.) come from hibernate.generate_statistics.
+ */
+@Configuration
+public class HibernateInstrumentationConfig {
+
+    /** SQL most recently prepared on this thread. */
+    private static final ThreadLocal<String> CURRENT_SQL = new ThreadLocal<>();
+
+    @Bean
+    public HibernatePropertiesCustomizer queryInstrumentation(SlowQueryLog slowQueryLog) {
+        // Hibernate creates one TimingListener per session by class name, so it reaches the log through a static.
+        TimingListener.slowQueryLog = slowQueryLog;
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCapturingInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingListener.class.getName());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new LoadCountingIntegrator()));
+        };
+    }
+
+    static final class SqlCapturingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            CURRENT_SQL.set(sql);
+            return sql;
+        }
+    }
+
+    /**
+     * For JDBC batches the SQL reported is the last statement prepared for the batch.
+     */
+    public static class TimingListener implements SessionEventListener {
+
+        static volatile SlowQueryLog slowQueryLog;
+
+        private long startNanos;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed();
+        }
+
+        private void executed() {
+            long elapsed = System.nanoTime() - startNanos;
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.statementExecuted(elapsed);
+            }
+            SlowQueryLog log = slowQueryLog;
+            if (log != null) {
+                log.record(CURRENT_SQL.get(), elapsed);
+            }
+        }
+    }
+
+    static final class LoadCountingIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, event -> {
+                RequestQueryStats stats = RequestQueryStats.current();
+                if (stats != null) {
+                    stats.entityLoaded();
+                }
+            });
+            registry.appendListeners(EventType.INIT_COLLECTION, event -> {
+                RequestQueryStats stats = RequestQueryStats.current();
+                if (stats != null) {
+                    stats.collectionFetched();
+                }
+            });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.studyGroup.backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Has Jackson call getters and setters through generated lambdas instead of reflection,
+     * which shows on the long GroupDTO, SuggestedPeerDTO and Course lists. Spring Boot adds
+     * every Module bean to the application ObjectMapper used for HTTP responses and SSE events.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
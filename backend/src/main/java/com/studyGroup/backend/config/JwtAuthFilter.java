@@ -40,6 +40,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         if (username != null && !"401".equals(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Resolves to an AuthenticatedUser, so controllers get the User via @CurrentUser without another lookup.
             UserDetails userDetails = userService.loadUserByUsername(username);
 
             if (userDetails != null && username.equals(userDetails.getUsername())) {
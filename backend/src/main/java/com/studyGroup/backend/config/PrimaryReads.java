@@ -0,0 +1,46 @@
+package com.studyGroup.backend.config;
+
+/**
+ * Sends read-only transactions on the current thread to the primary instead of the replica,
+ * for reads that must see a write that may not have replicated yet. Only connections
+ * opened inside the scope are affected. Scopes nest.
+ *
+ * <pre>
+ * try (PrimaryReads primary = PrimaryReads.open()) {
+ *     return groupService.getGroupDetails(groupId, user);
+ * }
+ * </pre>
+ */
+public final class PrimaryReads implements AutoCloseable {
+
+    private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+    private boolean closed;
+
+    private PrimaryReads() {
+    }
+
+    public static PrimaryReads open() {
+        Integer depth = DEPTH.get();
+        DEPTH.set(depth == null ? 1 : depth + 1);
+        return new PrimaryReads();
+    }
+
+    public static boolean isActive() {
+        return DEPTH.get() != null;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        int depth = DEPTH.get();
+        if (depth > 1) {
+            DEPTH.set(depth - 1);
+        } else {
+            DEPTH.remove();
+        }
+    }
+}
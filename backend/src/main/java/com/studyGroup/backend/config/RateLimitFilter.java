@@ -0,0 +1,147 @@
+package com.studyGroup.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits for the unauthenticated endpoints that send mail or run BCrypt
+ * (sign-in, registration OTP, password-reset OTP). Each configured route is limited
+ * per client IP and, when the JSON body has an "email" field, per email address.
+ * Bodies on these routes are capped at 16 KB and rejected with 413 above that, whether
+ * or not a Content-Length was sent, so the email limit cannot be skipped by sending a
+ * chunked or padded body. Runs ahead of JwtAuthFilter.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RateLimiter rateLimiter;
+
+    @PostConstruct
+    void init() {
+        rateLimiter = new RateLimiter(properties.getMaxBuckets(), properties.getIdleTimeout().toMillis());
+        meterRegistry.gauge("ratelimit.buckets", rateLimiter, RateLimiter::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || findRoute(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RateLimitProperties.Route route = findRoute(request);
+
+        long waitNanos = rateLimiter.tryAcquire(route.getPath() + "|ip|" + clientIp(request),
+                route.getCapacity(), route.getRefillPerMinute());
+        if (waitNanos > 0) {
+            reject(response, route, "ip", waitNanos);
+            return;
+        }
+
+        if (request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+            rejectTooLarge(response, route);
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_INSPECTED_BODY_BYTES);
+        if (cachedRequest.exceedsLimit()) {
+            rejectTooLarge(response, route);
+            return;
+        }
+
+        String email = extractEmail(cachedRequest.getBody());
+        if (email != null) {
+            waitNanos = rateLimiter.tryAcquire(route.getPath() + "|email|" + email,
+                    route.getCapacity(), route.getRefillPerMinute());
+            if (waitNanos > 0) {
+                reject(response, route, "email", waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private RateLimitProperties.Route findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getPath().equals(path) && route.getMethod().equalsIgnoreCase(request.getMethod())) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email != null && email.isTextual() && !email.asText().isBlank()) {
+                return email.asText().trim().toLowerCase(Locale.ROOT);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not JSON; the controller will reject it. Only the IP limit applies.
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, RateLimitProperties.Route route, String keyType, long waitNanos)
+            throws IOException {
+        meterRegistry.counter("ratelimit.rejected", "route", route.getPath(), "key", keyType).increment();
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                Map.of("message", "Too many requests. Please try again in " + retryAfterSeconds + " seconds."));
+    }
+
+    private void rejectTooLarge(HttpServletResponse response, RateLimitProperties.Route route) throws IOException {
+        meterRegistry.counter("ratelimit.rejected", "route", route.getPath(), "key", "body-size").increment();
+
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", "Request body is too large."));
+    }
+}
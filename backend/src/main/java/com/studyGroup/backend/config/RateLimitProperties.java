@@ -0,0 +1,44 @@
+package com.studyGroup.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on live buckets across all routes and keys. */
+    private long maxBuckets = 100_000;
+
+    /**
+     * Buckets not touched for this long are dropped. Keep it longer than the time a
+     * route needs to refill completely, or a drained bucket could be forgotten early.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Only honour X-Forwarded-For when running behind a trusted proxy. */
+    private boolean trustForwardedFor = false;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        private String path;
+
+        private String method = "POST";
+
+        /** Requests allowed in a burst, per client IP and per email address. */
+        private int capacity = 10;
+
+        private double refillPerMinute = 5;
+    }
+}
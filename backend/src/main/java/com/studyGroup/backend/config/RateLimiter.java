@@ -0,0 +1,64 @@
+package com.studyGroup.backend.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets stored as a single "theoretical arrival time" per key (the GCRA form of
+ * a token bucket). Taking a token is one compare-and-set on that value, and refill is
+ * implied by the clock, so there is no background refill and no lock per bucket.
+ * Buckets live in a Guava cache, which is lock-striped internally and bounds memory by
+ * size and idle time.
+ */
+public class RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(long maxBuckets, long idleTimeoutMillis) {
+        this.buckets = CacheBuilder.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeoutMillis, TimeUnit.MILLISECONDS)
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors() * 4)
+                .build();
+    }
+
+    /**
+     * Takes one token from the bucket for key.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, int capacity, double refillPerMinute) {
+        long interval = (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+        long burst = interval * capacity;
+        AtomicLong arrival = bucket(key);
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return excess;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key) {
+        try {
+            return buckets.get(key, () -> new AtomicLong(System.nanoTime()));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
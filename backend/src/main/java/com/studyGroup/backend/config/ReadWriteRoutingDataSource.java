@@ -0,0 +1,71 @@
+package com.studyGroup.backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true), and Spring Data's own
+ * read methods) to the replica and everything else to the primary. Connections are opened
+ * lazily, on the first statement: Hibernate asks for one as the transaction begins, before
+ * Spring has recorded that it is read-only. Inside a PrimaryReads scope read-only work stays
+ * on the primary too.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    private final Router router;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this(new Router(primary, replica));
+    }
+
+    private ReadWriteRoutingDataSource(Router router) {
+        super(router);
+        this.router = router;
+    }
+
+    public DataSource getReplica() {
+        return router.replica;
+    }
+
+    /** Read-only connections served by the replica. */
+    public long getReplicaReads() {
+        return router.replicaReads.get();
+    }
+
+    /** Read-only connections kept on the primary by PrimaryReads. */
+    public long getPrimaryReads() {
+        return router.primaryReads.get();
+    }
+
+    private static final class Router extends DelegatingDataSource {
+
+        private final DataSource replica;
+
+        private final AtomicLong replicaReads = new AtomicLong();
+
+        private final AtomicLong primaryReads = new AtomicLong();
+
+        Router(DataSource primary, DataSource replica) {
+            super(primary);
+            this.replica = replica;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                if (!PrimaryReads.isActive()) {
+                    replicaReads.incrementAndGet();
+                    return replica.getConnection();
+                }
+                primaryReads.incrementAndGet();
+            }
+            return obtainTargetDataSource().getConnection();
+        }
+    }
+}
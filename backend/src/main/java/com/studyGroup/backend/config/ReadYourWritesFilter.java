@@ -0,0 +1,68 @@
+package com.studyGroup.backend.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a client's reads on the primary while its own writes may not have reached the
+ * replica: write requests run entirely in a PrimaryReads scope, and so does every request
+ * with the same Authorization header for db.replica.read-your-writes-window afterwards,
+ * so e.g. the group page loaded right after joinGroup shows the new member. Runs ahead of
+ * JwtAuthFilter so the user lookup is covered too. A no-op unless db.replica.enabled.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    @Autowired
+    private ReplicaProperties properties;
+
+    /** Authorization headers that made a write request within the window. */
+    private Cache<String, Boolean> recentWriters;
+
+    @PostConstruct
+    void init() {
+        recentWriters = CacheBuilder.newBuilder()
+                .maximumSize(properties.getMaxTrackedClients())
+                .expireAfterWrite(properties.getReadYourWritesWindow().toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String client = request.getHeader(HttpHeaders.AUTHORIZATION);
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (!write && (client == null || recentWriters.getIfPresent(client) == null)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (PrimaryReads primary = PrimaryReads.open()) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (write && client != null) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+}
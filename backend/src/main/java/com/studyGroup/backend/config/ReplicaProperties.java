@@ -0,0 +1,37 @@
+package com.studyGroup.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read replica behind ReadWriteRoutingDataSource. Pool settings go under db.replica.hikari.*
+ * (same keys as spring.datasource.hikari.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "db.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /** Defaults to spring.datasource.driver-class-name. */
+    private String driverClassName;
+
+    /**
+     * After a client's write request, its requests read from the primary for this long.
+     * Keep it above the replica lag you expect.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** Upper bound on clients remembered for readYourWritesWindow. */
+    private long maxTrackedClients = 100_000;
+}
@@ -0,0 +1,62 @@
+package com.studyGroup.backend.config;
+
+/**
+ * Hibernate work done on the current thread while an HTTP request is being handled.
+ * Opened and recorded by RequestQueryStatsFilter, filled in by the Hibernate hooks in
+ * HibernateInstrumentationConfig. Work on other threads (schedulers, SSE senders) is not counted.
+ * The statement count itself comes from StatementCounter, which also sees SQL issued outside Hibernate.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statementNanos;
+
+    private int entityLoads;
+
+    private int collectionFetches;
+
+    private RequestQueryStats() {
+    }
+
+    static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Stats of the request running on this thread, or null outside a request.
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statementNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+}
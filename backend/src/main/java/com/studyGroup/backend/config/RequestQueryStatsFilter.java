@@ -0,0 +1,75 @@
+package com.studyGroup.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the database work of each request per route, next to the http.server.requests
+ * latency timer: db.request.statements (JDBC, see StatementCounter), db.request.statement.time,
+ * db.request.entity.loads and db.request.collection.fetches, tagged with the same method and
+ * uri pattern. Requests over their statement budget are logged and counted in
+ * db.request.budget.exceeded. Requests that matched no handler are not recorded.
+ */
+@Component
+public class RequestQueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestQueryStatsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StatementBudgetProperties budget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestQueryStats stats = RequestQueryStats.begin();
+        StatementCounter statements = StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.close();
+            RequestQueryStats.end();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (uri != null) {
+                record(request.getMethod(), uri.toString(), statements.count(), stats);
+            }
+        }
+    }
+
+    private void record(String method, String uri, int statements, RequestQueryStats stats) {
+        summary("db.request.statements", method, uri).record(statements);
+        summary("db.request.entity.loads", method, uri).record(stats.getEntityLoads());
+        summary("db.request.collection.fetches", method, uri).record(stats.getCollectionFetches());
+        Timer.builder("db.request.statement.time").tags("method", method, "uri", uri).register(meterRegistry)
+                .record(stats.getStatementNanos(), TimeUnit.NANOSECONDS);
+
+        if (budget.isEnabled()) {
+            int limit = budget.limitFor(method, uri);
+            if (statements > limit) {
+                meterRegistry.counter("db.request.budget.exceeded", "method", method, "uri", uri).increment();
+                log.warn("{} {} ran {} SQL statements, over its budget of {}", method, uri, statements, limit);
+            }
+        }
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name).tags("method", method, "uri", uri).register(meterRegistry);
+    }
+}
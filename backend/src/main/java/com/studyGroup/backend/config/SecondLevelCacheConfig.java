@@ -0,0 +1,128 @@
+package com.studyGroup.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Hibernate's second-level cache on Caffeine through JCache: Course (by id, and the course
+ * list through the query cache) and User (by id, which is how Group.createdBy and other
+ * lazy references load it). Both are read-write regions, so changes made through JPA
+ * update the cache as they commit; writes that bypass JPA must evict it themselves (see
+ * SyntheticDataGenerator). Whether the cache is used at all is up to the
+ * hibernate.cache.use_second_level_cache and use_query_cache settings.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String COURSE_REGION = "course";
+
+    public static final String USER_REGION = "user";
+
+    @Value("${l2cache.course.max-size:10000}")
+    private long courseMaxSize;
+
+    @Value("${l2cache.course.ttl:1h}")
+    private Duration courseTtl;
+
+    @Value("${l2cache.user.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${l2cache.user.ttl:5m}")
+    private Duration userTtl;
+
+    @Value("${l2cache.query.max-size:1000}")
+    private long queryMaxSize;
+
+    @Value("${l2cache.query.ttl:10m}")
+    private Duration queryTtl;
+
+    /**
+     * One cache manager per application context (the URI is what tells them apart), with
+     * every region created up front; Hibernate is set to fail on a region missing here.
+     * The update-timestamps region must not evict or expire entries, or cached query
+     * results could outlive a change to their tables.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(COURSE_REGION, region(courseMaxSize, courseTtl));
+        cacheManager.createCache(USER_REGION, region(userMaxSize, userTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaxSize, queryTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    /**
+     * hibernate.cache.hit.ratio per region, over the life of the session factory. Hits,
+     * misses and puts are already exported as hibernate.second.level.cache.* and
+     * hibernate.query.cache.*.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            SessionFactoryOptions options = sessionFactory.getSessionFactoryOptions();
+            Statistics statistics = sessionFactory.getStatistics();
+            if (!options.isSecondLevelCacheEnabled()) {
+                return;
+            }
+            for (String region : new String[] {COURSE_REGION, USER_REGION}) {
+                hitRatio(registry, region, statistics, s -> s.getDomainDataRegionStatistics(region));
+            }
+            if (options.isQueryCacheEnabled()) {
+                String region = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+                hitRatio(registry, region, statistics, s -> s.getQueryRegionStatistics(region));
+            }
+        };
+    }
+
+    private static void hitRatio(MeterRegistry registry, String region, Statistics statistics,
+                                 Function<Statistics, CacheRegionStatistics> regionStatistics) {
+        Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> {
+                    CacheRegionStatistics stats = regionStatistics.apply(s);
+                    long lookups = stats == null ? 0 : stats.getHitCount() + stats.getMissCount();
+                    return lookups == 0 ? Double.NaN : (double) stats.getHitCount() / lookups;
+                })
+                .tag("region", region)
+                .register(registry);
+    }
+}
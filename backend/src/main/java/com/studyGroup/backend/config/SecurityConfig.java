@@ -1,7 +1,12 @@
 package com.studyGroup.backend.config;
 
 import java.util.Arrays;
+
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -21,6 +26,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthFilter authFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
     
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -28,18 +39,29 @@ public class SecurityConfig {
             .cors(Customizer.withDefaults())
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Served on management.server.port only; the scraper has no user token.
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).denyAll()
+                // Completing an SSE stream re-dispatches the request it belongs to, which was authorized
+                // when it opened; the stream may be ending precisely because its token was revoked.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
              
                 .requestMatchers(
                     "/api/users/signin", 
+                    "/api/users/token/refresh",
+                    "/api/users/logout",
                     "/api/users/register/**", 
                     "/api/users/forgot-password/**",  
-                    "/api/courses/**" 
+                    "/api/courses/**",
+                    "/ws/**"
                 ).permitAll()
                
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthFilter.class)
+            .addFilterBefore(readYourWritesFilter, JwtAuthFilter.class);
 
         return http.build();
     }
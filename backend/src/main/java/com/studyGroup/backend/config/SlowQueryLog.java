@@ -0,0 +1,78 @@
+package com.studyGroup.backend.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replaces spring.jpa.show-sql: only statements slower than the threshold are logged, and
+ * each distinct statement at most once per sample interval. Repeats within the interval are
+ * counted and summarised in one line when the interval ends (reported lazily, on cache
+ * maintenance). Every slow statement is counted in db.slow-queries.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${db.slow-query.threshold:250ms}")
+    private Duration threshold;
+
+    @Value("${db.slow-query.sample-interval:1m}")
+    private Duration sampleInterval;
+
+    @Value("${db.slow-query.max-tracked:1000}")
+    private long maxTracked;
+
+    private long thresholdNanos;
+
+    /** SQL -> occurrences not logged since it was last logged. */
+    private Cache<String, AtomicInteger> recentlyLogged;
+
+    private Counter slowQueries;
+
+    @PostConstruct
+    void init() {
+        thresholdNanos = threshold.toNanos();
+        recentlyLogged = CacheBuilder.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(sampleInterval.toMillis(), TimeUnit.MILLISECONDS)
+                .removalListener((RemovalNotification<String, AtomicInteger> removed) -> {
+                    int repeats = removed.getValue().get();
+                    if (repeats > 0) {
+                        log.warn("Slow query repeated {} more times within {}: {}", repeats, sampleInterval, removed.getKey());
+                    }
+                })
+                .build();
+        slowQueries = Counter.builder("db.slow-queries").register(meterRegistry);
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        slowQueries.increment();
+        String statement = sql != null ? sql : "<unknown>";
+        AtomicInteger suppressed = recentlyLogged.asMap().putIfAbsent(statement, new AtomicInteger());
+        if (suppressed != null) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        log.warn("Slow query ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), statement);
+    }
+}
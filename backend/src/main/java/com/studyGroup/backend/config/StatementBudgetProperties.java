@@ -0,0 +1,41 @@
+package com.studyGroup.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "db.statement-budget")
+public class StatementBudgetProperties {
+
+    private boolean enabled = true;
+
+    /** SQL statements a request may run before a warning is logged, unless its route has its own limit. */
+    private int defaultLimit = 20;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /** Route pattern as mapped, e.g. /api/groups/{groupId}/members. */
+        private String path;
+
+        private String method = "GET";
+
+        private int limit;
+    }
+
+    public int limitFor(String method, String path) {
+        for (Route route : routes) {
+            if (route.getPath().equals(path) && route.getMethod().equalsIgnoreCase(method)) {
+                return route.getLimit();
+            }
+        }
+        return defaultLimit;
+    }
+}
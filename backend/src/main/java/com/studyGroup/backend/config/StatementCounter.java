@@ -0,0 +1,69 @@
+package com.studyGroup.backend.config;
+
+/**
+ * Counts JDBC statements executed on the current thread, fed by StatementCountingDataSource.
+ * Scopes nest: a statement counts towards every open scope on the thread, so a test can
+ * wrap a request that RequestQueryStatsFilter is also counting.
+ *
+ * <pre>
+ * try (StatementCounter statements = StatementCounter.start()) {
+ *     mockMvc.perform(get("/api/groups/my-groups")...);
+ *     statements.assertAtMost(6);
+ * }
+ * </pre>
+ */
+public final class StatementCounter implements AutoCloseable {
+
+    private static final ThreadLocal<StatementCounter> CURRENT = new ThreadLocal<>();
+
+    private final StatementCounter parent;
+
+    private int count;
+
+    private boolean closed;
+
+    private StatementCounter(StatementCounter parent) {
+        this.parent = parent;
+    }
+
+    public static StatementCounter start() {
+        StatementCounter counter = new StatementCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void increment() {
+        for (StatementCounter counter = CURRENT.get(); counter != null; counter = counter.parent) {
+            counter.count++;
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Throws AssertionError if more than max statements ran in this scope.
+     */
+    public void assertAtMost(int max) {
+        if (count > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + count + " were executed");
+        }
+    }
+
+    /**
+     * Closes the scope; scopes must be closed innermost first.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
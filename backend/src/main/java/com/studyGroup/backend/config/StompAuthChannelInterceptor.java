@@ -0,0 +1,293 @@
+package com.studyGroup.backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import com.studyGroup.backend.dto.GroupEvent;
+import com.studyGroup.backend.service.ChatService;
+import com.studyGroup.backend.service.GroupEventBroadcaster;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.JWTService;
+import com.studyGroup.backend.service.PresenceService;
+import com.studyGroup.backend.service.UserService;
+
+import com.google.common.collect.Lists;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Authenticates STOMP connections and authorizes group destinations.
+ *
+ * CONNECT must carry "Authorization: Bearer &lt;access token&gt;" as a STOMP header. The
+ * user's group memberships are loaded at that point into the session:
+ * - /topic/groups/{id}, /topic/groups/{id}/chat and /topic/groups/{id}/presence, and sending to
+ *   /app/groups/{id}/chat, require membership;
+ * - /topic/groups/{id}/admin requires the Admin role.
+ * SUBSCRIBE, SEND and outgoing frames are all checked against that copy without touching
+ * the database. GroupEvents on this node update it at once and
+ * websocket.membership.refresh-interval-ms reloads it, in batched queries, for changes made
+ * elsewhere, so a member who is removed or demoted stops receiving messages without
+ * having to reconnect. A session's roles are an immutable map replaced as a whole; a
+ * reload does not overwrite roles that a GroupEvent changed while it was running.
+ *
+ * The access token's expiry and id are kept with the session. Once the token expires or
+ * is revoked (logout, password change), outgoing messages are dropped and the next
+ * inbound frame, heartbeats included, is answered with an ERROR frame, which closes
+ * the connection; the client reconnects with a fresh token.
+ *
+ * Every inbound frame, including heartbeats, also refreshes the session in PresenceService.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String APP_PREFIX = "/app/groups/";
+
+    /** Users whose memberships are reloaded per query. */
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    /** The same sessions by user, so GroupEvents and reloads find a user's sessions directly. */
+    private final Map<Integer, Set<SessionState>> sessionsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Inbound: frames from clients.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            presenceService.touch(sessionId);
+        }
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (sessionId != null && (accessor == null || accessor.getCommand() != StompCommand.DISCONNECT)) {
+            SessionState session = sessions.get(sessionId);
+            if (session != null && !jwtService.isStillValid(session.token)) {
+                unregister(sessionId);
+                presenceService.disconnect(sessionId);
+                throw new MessagingException(message, "Access token expired or revoked");
+            }
+        }
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(message, accessor);
+            case SUBSCRIBE -> {
+                SessionState session = sessions.get(accessor.getSessionId());
+                if (session == null || !session.canReceive(accessor.getDestination())) {
+                    throw new MessagingException(message, "Not allowed to subscribe to " + accessor.getDestination());
+                }
+            }
+            case SEND -> {
+                SessionState session = sessions.get(accessor.getSessionId());
+                if (session == null || !session.canSend(accessor.getDestination())) {
+                    throw new MessagingException(message, "Not allowed to send to " + accessor.getDestination());
+                }
+            }
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Interceptor for the client outbound channel: drops MESSAGE frames the session's user may no longer see.
+     */
+    public ChannelInterceptor outbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                // Broker messages carry plain SIMP headers, not a STOMP accessor.
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+                    return message;
+                }
+                SessionState session = sessions.get(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+                return session != null && jwtService.isStillValid(session.token)
+                        && session.canReceive(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+                        ? message : null;
+            }
+        };
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        unregister(event.getSessionId());
+        presenceService.disconnect(event.getSessionId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupEvent(GroupEvent event) {
+        switch (event.type()) {
+            case MEMBER_JOINED, ROLE_CHANGED -> forUser(event.userId(), session -> session.updateRoles(roles -> roles.put(event.groupId(), event.role())));
+            case MEMBER_LEFT, MEMBER_REMOVED -> forUser(event.userId(), session -> session.updateRoles(roles -> roles.remove(event.groupId())));
+            case GROUP_DELETED -> sessions.values().stream()
+                    .filter(session -> session.roles.get().containsKey(event.groupId()))
+                    .forEach(session -> session.updateRoles(roles -> roles.remove(event.groupId())));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Reloads every session's memberships, picking up changes made through other nodes.
+     * One query per REFRESH_BATCH_SIZE connected users. Each session's roles are read before
+     * the query and replaced only if still the same, so a GroupEvent applied meanwhile wins;
+     * the next reload catches up with anything it missed.
+     */
+    @Scheduled(fixedDelayString = "${websocket.membership.refresh-interval-ms:30000}",
+            initialDelayString = "${websocket.membership.refresh-interval-ms:30000}")
+    public void refreshMemberships() {
+        for (List<Integer> userIds : Lists.partition(List.copyOf(sessionsByUser.keySet()), REFRESH_BATCH_SIZE)) {
+            Map<SessionState, Map<Long, String>> seen = new HashMap<>();
+            userIds.forEach(userId -> sessionsByUser.getOrDefault(userId, Set.of())
+                    .forEach(session -> seen.put(session, session.roles.get())));
+            Map<Integer, Map<Long, String>> loaded = groupService.getMembershipRoles(userIds);
+            seen.forEach((session, roles) -> session.roles.compareAndSet(roles,
+                    Collections.unmodifiableMap(loaded.getOrDefault(session.userId, Map.of()))));
+        }
+    }
+
+    private void forUser(Long userId, Consumer<SessionState> update) {
+        if (userId != null) {
+            sessionsByUser.getOrDefault(userId.intValue(), Set.of()).forEach(update);
+        }
+    }
+
+    private void register(String sessionId, SessionState session) {
+        sessions.put(sessionId, session);
+        sessionsByUser.compute(session.userId, (userId, userSessions) -> {
+            Set<SessionState> updated = userSessions != null ? userSessions : ConcurrentHashMap.newKeySet();
+            updated.add(session);
+            return updated;
+        });
+    }
+
+    private void unregister(String sessionId) {
+        SessionState session = sessions.remove(sessionId);
+        if (session != null) {
+            sessionsByUser.computeIfPresent(session.userId, (userId, userSessions) -> {
+                userSessions.remove(session);
+                return userSessions.isEmpty() ? null : userSessions;
+            });
+        }
+    }
+
+    private void authenticate(Message<?> message, StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        JWTService.VerifiedToken token = authHeader != null && authHeader.startsWith("Bearer ")
+                ? jwtService.verifyAccessToken(authHeader.substring(7)) : null;
+        if (token == null) {
+            throw new MessagingException(message, "Invalid or missing access token");
+        }
+        String email = token.subject();
+
+        AuthenticatedUser principal;
+        try {
+            principal = (AuthenticatedUser) userService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            throw new MessagingException(message, "Invalid or missing access token");
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Integer userId = principal.getUser().getId();
+        SessionState session = new SessionState(userId, token);
+        session.roles.set(Collections.unmodifiableMap(groupService.getMembershipRoles(userId)));
+        register(accessor.getSessionId(), session);
+        presenceService.connect(accessor.getSessionId(), userId, session.roles.get().keySet());
+    }
+
+    private static final class SessionState {
+
+        private final Integer userId;
+
+        /** The access token presented at CONNECT. */
+        private final JWTService.VerifiedToken token;
+
+        /** Role per group id the user is a member of; an unmodifiable map, replaced on every change. */
+        private final AtomicReference<Map<Long, String>> roles = new AtomicReference<>(Map.of());
+
+        private SessionState(Integer userId, JWTService.VerifiedToken token) {
+            this.userId = userId;
+            this.token = token;
+        }
+
+        void updateRoles(Consumer<Map<Long, String>> change) {
+            roles.updateAndGet(current -> {
+                Map<Long, String> updated = new HashMap<>(current);
+                change.accept(updated);
+                return Collections.unmodifiableMap(updated);
+            });
+        }
+
+        boolean canReceive(String destination) {
+            if (destination == null || !destination.startsWith(GroupEventBroadcaster.TOPIC_PREFIX)) {
+                return false;
+            }
+            String rest = destination.substring(GroupEventBroadcaster.TOPIC_PREFIX.length());
+            int slash = rest.indexOf('/');
+            String role = roleIn(slash < 0 ? rest : rest.substring(0, slash));
+            if (role == null) {
+                return false;
+            }
+            String suffix = slash < 0 ? "" : rest.substring(slash);
+            return switch (suffix) {
+                case "", ChatService.CHAT_SUFFIX, PresenceService.PRESENCE_SUFFIX -> true;
+                case GroupEventBroadcaster.ADMIN_SUFFIX -> "Admin".equalsIgnoreCase(role);
+                default -> false;
+            };
+        }
+
+        boolean canSend(String destination) {
+            if (destination == null || !destination.startsWith(APP_PREFIX) || !destination.endsWith(ChatService.CHAT_SUFFIX)) {
+                return false;
+            }
+            String groupId = destination.substring(APP_PREFIX.length(), destination.length() - ChatService.CHAT_SUFFIX.length());
+            return roleIn(groupId) != null;
+        }
+
+        private String roleIn(String groupId) {
+            try {
+                return roles.get().get(Long.valueOf(groupId));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.studyGroup.backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import com.studyGroup.backend.config.AuthenticatedUser;
+import com.studyGroup.backend.config.CurrentUser;
+import com.studyGroup.backend.dto.ChatMessageDTO;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.service.ChatService;
+import com.studyGroup.backend.service.GroupService;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Group chat. Messages are sent as STOMP frames to /app/groups/{groupId}/chat and
+ * delivered on /topic/groups/{groupId}/chat; membership for both is checked by
+ * StompAuthChannelInterceptor against the roles it loads at CONNECT and keeps current
+ * through GroupEvents and its periodic reload. History is read over HTTP.
+ */
+@RestController
+@RequestMapping("/api/groups/{groupId}/chat")
+@CrossOrigin(origins = "*")
+public class ChatController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private GroupService groupService;
+
+    /**
+     * Pages backwards through the history: pass the id of the oldest message received as before.
+     */
+    @GetMapping
+    public ResponseEntity<?> getHistory(@PathVariable Long groupId,
+                                        @RequestParam(required = false) Long before,
+                                        @RequestParam(defaultValue = "50") int limit,
+                                        @CurrentUser User currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Invalid or expired token."));
+        }
+        if (groupService.getMemberRole(groupId, currentUser.getId()).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "You must be a member of this group to read its chat."));
+        }
+
+        List<ChatMessageDTO> messages = chatService.history(groupId, before, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        return ResponseEntity.ok(messages);
+    }
+
+    @MessageMapping("/groups/{groupId}/chat")
+    public void sendMessage(@DestinationVariable Long groupId, @Payload Map<String, String> body, Principal principal) {
+        AuthenticatedUser sender = (AuthenticatedUser) ((Authentication) principal).getPrincipal();
+        chatService.post(groupId, sender.getUser(), body.get("content"));
+    }
+}
@@ -2,18 +2,22 @@ package com.studyGroup.backend.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.studyGroup.backend.config.CurrentUser;
 import com.studyGroup.backend.dto.DashboardDTO;
 import com.studyGroup.backend.model.User;
 import com.studyGroup.backend.service.DashboardService;
+import com.studyGroup.backend.service.DashboardStreamService;
 import com.studyGroup.backend.service.JWTService;
-import com.studyGroup.backend.service.UserService;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -24,28 +28,20 @@ public class DashboardController {
     private DashboardService dashboardService;
 
     @Autowired
-    private JWTService jwtService;
+    private DashboardStreamService dashboardStreamService;
 
     @Autowired
-    private UserService userService;
+    private JWTService jwtService;
 
    
     @GetMapping
-    public ResponseEntity<?> getDashboardData(@RequestHeader("Authorization") String authHeader) {
-     
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
+    public ResponseEntity<?> getDashboardData(@CurrentUser User currentUser) {
 
-        if ("401".equals(email)) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
 
         try {
-            User currentUser = userService.getUserProfile(token);
-            if (currentUser == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User associated with token not found.");
-            }
-
             DashboardDTO dashboardData = dashboardService.getDashboardData(currentUser);
 
             return ResponseEntity.ok(dashboardData);
@@ -56,4 +52,26 @@ public class DashboardController {
                     .body("An error occurred while fetching dashboard data: " + e.getMessage());
         }
     }
+
+    /**
+     * Sends the dashboard once as a "dashboard" event, then "delta" events as groups,
+     * memberships and enrolments change. The stream ends when the access token expires or is revoked.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard(@CurrentUser User currentUser,
+                                      @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        // The emitter must be the declared return type for Spring to stream it, so errors are raised as statuses.
+        JWTService.VerifiedToken token = authHeader != null && authHeader.startsWith("Bearer ")
+                ? jwtService.verifyAccessToken(authHeader.substring(7)) : null;
+        if (currentUser == null || token == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired token.");
+        }
+
+        try {
+            return dashboardStreamService.subscribe(currentUser, token);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
 }
@@ -5,11 +5,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.studyGroup.backend.config.CurrentUser;
 import com.studyGroup.backend.dto.*;
 import com.studyGroup.backend.model.User;
 import com.studyGroup.backend.repository.GroupRepository;
 import com.studyGroup.backend.service.GroupService;
-import com.studyGroup.backend.service.UserService;
+import com.studyGroup.backend.service.PresenceService;
 
 import java.util.List;
 import java.util.Map;
@@ -23,19 +24,16 @@ public class GroupController {
     private GroupService groupService;
 
     @Autowired
-    private UserService userService;
+    private GroupRepository groupRepository;
 
     @Autowired
-    private GroupRepository groupRepository;
+    private PresenceService presenceService;
 
     // --- Existing Endpoints (Logic maintained) ---
 
     @DeleteMapping("/leave/{groupId}")
-    public ResponseEntity<?> leaveGroup(@PathVariable Long groupId, @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> leaveGroup(@PathVariable Long groupId, @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid or expired token."));
@@ -54,11 +52,8 @@ public class GroupController {
     }
 
     @GetMapping("/{groupId}")
-    public ResponseEntity<?> getGroupDetails(@PathVariable Long groupId, @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getGroupDetails(@PathVariable Long groupId, @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid or expired token."));
@@ -76,12 +71,25 @@ public class GroupController {
         }
     }
 
+    /**
+     * Members currently online. Live changes are pushed on /topic/groups/{groupId}/presence.
+     */
+    @GetMapping("/{groupId}/presence")
+    public ResponseEntity<?> getGroupPresence(@PathVariable Long groupId, @CurrentUser User currentUser) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Invalid or expired token."));
+        }
+        if (groupService.getMemberRole(groupId, currentUser.getId()).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("message", "You must be a member of this group to see who is online."));
+        }
+        return ResponseEntity.ok(presenceService.snapshot(groupId));
+    }
+
     @GetMapping("/{groupId}/members")
-    public ResponseEntity<?> getGroupMembers(@PathVariable Long groupId, @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getGroupMembers(@PathVariable Long groupId, @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid or expired token."));
@@ -101,11 +109,8 @@ public class GroupController {
     
     @PostMapping("/create")
     public ResponseEntity<?> createGroup(@RequestBody CreateGroupRequest createGroupRequest,
-                                         @RequestHeader("Authorization") String authHeader) {
+                                         @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token."));
             }
@@ -120,11 +125,8 @@ public class GroupController {
     }
     
     @GetMapping("/my-groups")
-    public ResponseEntity<?> getMyGroups(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getMyGroups(@CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token."));
             }
@@ -152,12 +154,9 @@ public class GroupController {
 
     @PostMapping("/join/{groupId}")
     public ResponseEntity<?> joinGroup(@PathVariable Long groupId,
-                                         @RequestHeader("Authorization") String authHeader,
+                                         @CurrentUser User currentUser,
                                          @RequestBody(required = false) Map<String, String> payload) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid or expired token."));
@@ -192,11 +191,8 @@ public class GroupController {
      */
     @GetMapping("/{groupId}/requests")
     public ResponseEntity<?> getGroupJoinRequests(@PathVariable Long groupId,
-                                                    @RequestHeader("Authorization") String authHeader) {
+                                                    @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token."));
             }
@@ -216,11 +212,8 @@ public class GroupController {
     @PutMapping("/{groupId}")
     public ResponseEntity<?> updateGroupDetails(@PathVariable Long groupId,
                                                     @RequestBody GroupDTO groupDetails,
-                                                    @RequestHeader("Authorization") String authHeader) {
+                                                    @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("message", "Invalid or expired token."));
@@ -246,11 +239,8 @@ public class GroupController {
     public ResponseEntity<?> handleJoinRequest(@PathVariable Long groupId,
                                                @PathVariable Long requestId,
                                                @RequestBody Map<String, String> payload, // Expects { "action": "APPROVED" | "DENIED" }
-                                               @RequestHeader("Authorization") String authHeader) {
+                                               @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token."));
             }
@@ -281,11 +271,8 @@ public class GroupController {
     @DeleteMapping("/{groupId}/members/{memberId}")
     public ResponseEntity<?> removeGroupMember(@PathVariable Long groupId, 
                                                 @PathVariable Long memberId,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token."));
             }
@@ -310,11 +297,8 @@ public class GroupController {
     public ResponseEntity<?> changeMemberRole(@PathVariable Long groupId, 
                                                 @PathVariable Long memberId,
                                                 @RequestBody Map<String, String> payload, // Expects { "role": "Admin" | "Member" }
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                @CurrentUser User currentUser) {
         try {
-            String token = authHeader.substring(7);
-            User currentUser = userService.getUserProfile(token);
-
             if (currentUser == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid or expired token."));
             }
@@ -5,8 +5,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.studyGroup.backend.config.CurrentUser;
 import com.studyGroup.backend.model.Profile;
-import com.studyGroup.backend.service.JWTService;
+import com.studyGroup.backend.model.User;
 import com.studyGroup.backend.service.ProfileService;
 
 import java.util.Optional;
@@ -21,17 +22,12 @@ public class ProfileController {
     @Autowired
     private ProfileService profileService;
 
-    @Autowired
-    private JWTService jwtService;
-
     @GetMapping
-    public ResponseEntity<?> getProfile(@RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-
-        if ("401".equals(email)) {
+    public ResponseEntity<?> getProfile(@CurrentUser User currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
+        String email = currentUser.getEmail();
 
         Optional<Profile> profileOptional = profileService.getProfileByEmail(email);
         
@@ -47,13 +43,11 @@ public class ProfileController {
      * from the request body onto the existing profile entity.
      */
     @PostMapping
-    public ResponseEntity<?> updateProfile(@RequestHeader("Authorization") String authHeader, @RequestBody Profile profileDetails) {
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-
-        if ("401".equals(email)) {
+    public ResponseEntity<?> updateProfile(@CurrentUser User currentUser, @RequestBody Profile profileDetails) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
+        String email = currentUser.getEmail();
 
         // We assume getProfileByEmail fetches the existing profile based on the authenticated email
         Optional<Profile> profileOptional = profileService.getProfileByEmail(email);
@@ -109,13 +103,11 @@ public class ProfileController {
     }
 
     @PostMapping("/enroll/{courseId}")
-    public ResponseEntity<?> enrollInCourse(@RequestHeader("Authorization") String authHeader, @PathVariable String courseId) {
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-
-        if ("401".equals(email)) {
+    public ResponseEntity<?> enrollInCourse(@CurrentUser User currentUser, @PathVariable String courseId) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
+        String email = currentUser.getEmail();
 
         try {
             Profile updatedProfile = profileService.enrollInCourse(email, courseId);
@@ -127,13 +119,11 @@ public class ProfileController {
 
     
     @DeleteMapping("/unenroll/{courseId}")
-    public ResponseEntity<?> unenrollFromCourse(@RequestHeader("Authorization") String authHeader, @PathVariable String courseId) {
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-
-        if ("401".equals(email)) {
+    public ResponseEntity<?> unenrollFromCourse(@CurrentUser User currentUser, @PathVariable String courseId) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
+        String email = currentUser.getEmail();
 
         try {
             Profile updatedProfile = profileService.unenrollFromCourse(email, courseId);
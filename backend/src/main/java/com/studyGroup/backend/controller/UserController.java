@@ -5,15 +5,19 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.studyGroup.backend.config.CurrentUser;
 import com.studyGroup.backend.dto.LoginRequest;
 import com.studyGroup.backend.dto.PasswordChangeRequest;
+import com.studyGroup.backend.dto.TokenPair;
+import com.studyGroup.backend.exception.ServiceBusyException;
 import com.studyGroup.backend.model.User;
-import com.studyGroup.backend.service.EmailService;
 import com.studyGroup.backend.service.JWTService;
 import com.studyGroup.backend.service.OtpService;
+import com.studyGroup.backend.service.RefreshTokenService;
 import com.studyGroup.backend.service.UserService;
 
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -29,10 +33,10 @@ public class UserController {
     private JWTService jwtService;
 
     @Autowired
-    private OtpService otpService;
+    private RefreshTokenService refreshTokenService;
 
     @Autowired
-    private EmailService emailService;
+    private OtpService otpService;
 
     
     @PostMapping("/register")
@@ -53,21 +57,12 @@ public class UserController {
     }
 
     @PostMapping("/register/send-otp")
-    public ResponseEntity<?> sendRegistrationOtp(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> sendRegistrationOtp(@RequestBody Map<String, String> request, Locale locale) {
         String email = request.get("email");
         if (userService.userExists(email)) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("An account with this email already exists.");
         }
-        String otp = otpService.generateAndCacheOtp(email);
-
-        String emailBody = "Hello " + request.getOrDefault("name", "there") + ",\n\n"
-                + "Thank you for registering with Study Group Finder.\n\n"
-                + "Your One-Time Password (OTP) is: " + otp + "\n\n"
-                + "This OTP is valid for 5 minutes.\n\n"
-                + "If you did not request this, please ignore this email.\n\n"
-                + "Best regards,\nThe Study Group Finder Team";
-
-        emailService.sendEmail(email, "Your OTP for Study Group Finder Registration", emailBody);
+        userService.sendRegistrationOtp(email, request.getOrDefault("name", "there"), locale);
 
         return ResponseEntity.ok("OTP sent to your email address.");
     }
@@ -88,7 +83,7 @@ public class UserController {
     
     
     @PostMapping("/forgot-password/send-otp")
-    public ResponseEntity<String> sendForgotPasswordOtp(@RequestBody Map<String, String> body) {
+    public ResponseEntity<String> sendForgotPasswordOtp(@RequestBody Map<String, String> body, Locale locale) {
         String email = body.get("email");
         
         Optional<User> userOptional = userService.getUserByEmail(email);
@@ -96,30 +91,8 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found or email not registered.");
         }
         
-        User user = userOptional.get();
-        String otp = otpService.generateAndCacheOtp(email);
-        
-        String userName = Optional.ofNullable(user.getName()).orElse("there");
-
-        String emailBody = String.format(
-            "Hello %s,\n\n"
-            + "We received a request to reset your password. \n\n"
-            + "Your One-Time Password (OTP) is: %s\n\n"
-            + "This OTP is valid for 5 minutes. Do not share it with anyone.\n\n"
-            + "If you did not request this, please ignore this email.\n\n"
-            + "Best regards,\nThe Study Group Finder Team",
-            userName, otp
-        );
-        
-        String emailResponse = emailService.sendEmail(email, "Password Reset OTP for Study Group Finder", emailBody);
-        
-        if (emailResponse.startsWith("200")) {
-            otpService.markResetStarted(email); 
-            return ResponseEntity.ok("OTP sent to the registered email.");
-        } else {
-            
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(emailResponse.substring(6)); 
-        }
+        userService.sendPasswordResetOtp(userOptional.get(), locale);
+        return ResponseEntity.ok("OTP sent to the registered email.");
     }
 
  
@@ -160,6 +133,8 @@ public class UserController {
             otpService.clearPasswordChangeAuthorization(email);
             
             return ResponseEntity.ok(Map.of("message", "Password reset successfully. You can now log in with your new password."));
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "Failed to reset password: " + e.getMessage()));
         }
@@ -178,36 +153,48 @@ public class UserController {
         }
 
         String token = response.substring(5);
-        return ResponseEntity.ok(Collections.singletonMap("token", token));
+        String refreshToken = refreshTokenService.issue(loginRequest.getEmail());
+        return ResponseEntity.ok(Map.of("token", token, "refreshToken", refreshToken));
+    }
+
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> request) {
+        Optional<TokenPair> tokens = refreshTokenService.rotate(request.get("refreshToken"));
+        if (tokens.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("message", "Invalid or expired refresh token. Please sign in again."));
+        }
+        return ResponseEntity.ok(Map.of("token", tokens.get().token(), "refreshToken", tokens.get().refreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                    @RequestBody(required = false) Map<String, String> request) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwtService.revokeToken(authHeader.substring(7));
+        }
+        if (request != null) {
+            refreshTokenService.revoke(request.get("refreshToken"));
+        }
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully."));
     }
     
     @GetMapping("/profile")
-    public ResponseEntity<?> getProfile(@RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or missing Authorization header.");
-        }
-        String token = authHeader.substring(7);
-        User userProfile = userService.getUserProfile(token);
-        if (userProfile == null) {
+    public ResponseEntity<?> getProfile(@CurrentUser User currentUser) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
-        return ResponseEntity.ok(userProfile);
+        return ResponseEntity.ok(currentUser);
     }
     
 
     @PutMapping("/profile")
-    public ResponseEntity<?> updateUserProfile(@RequestHeader("Authorization") String authHeader, @RequestBody User userDetails) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or missing Authorization header.");
-        }
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-        
-        if ("401".equals(email)) {
+    public ResponseEntity<?> updateUserProfile(@CurrentUser User currentUser, @RequestBody User userDetails) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
 
-        User updatedUser = userService.updateUser(email, userDetails);
+        User updatedUser = userService.updateUser(currentUser.getEmail(), userDetails);
 
         if (updatedUser == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
@@ -216,15 +203,12 @@ public class UserController {
     }
 
     @PostMapping("/verify-password")
-    public ResponseEntity<?> verifyPassword(@RequestHeader("Authorization") String authHeader, @RequestBody PasswordChangeRequest request) {
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-
-        if ("401".equals(email)) {
+    public ResponseEntity<?> verifyPassword(@CurrentUser User currentUser, @RequestBody PasswordChangeRequest request) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
 
-        boolean isCorrect = userService.verifyPassword(email, request.getCurrentPassword());
+        boolean isCorrect = userService.verifyPassword(currentUser.getEmail(), request.getCurrentPassword());
 
         if (isCorrect) {
             return ResponseEntity.ok(Map.of("message", "Password verified."));
@@ -234,11 +218,8 @@ public class UserController {
     }
 
     @PutMapping("/change-password")
-    public ResponseEntity<?> changePassword(@RequestHeader("Authorization") String authHeader, @RequestBody PasswordChangeRequest request) {
-        String token = authHeader.substring(7);
-        String email = jwtService.validateToken(token);
-
-        if ("401".equals(email)) {
+    public ResponseEntity<?> changePassword(@CurrentUser User currentUser, @RequestBody PasswordChangeRequest request) {
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired token.");
         }
 
@@ -246,7 +227,7 @@ public class UserController {
              return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "New password must be at least 6 characters long."));
         }
 
-        userService.changePassword(email, request.getNewPassword());
+        userService.changePassword(currentUser.getEmail(), request.getNewPassword());
         return ResponseEntity.ok(Map.of("message", "Password changed successfully."));
     }
 }
@@ -0,0 +1,51 @@
+package com.studyGroup.backend.datagen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "datagen")
+public class DataGenProperties {
+
+    /** Run the generator at startup (see SyntheticDataRunner). */
+    private boolean enabled = false;
+
+    /** Shut the application down once the data is written. */
+    private boolean exitWhenDone = true;
+
+    private long seed = 42;
+
+    private int users = 10_000;
+
+    private int courses = 200;
+
+    private int groups = 500;
+
+    /** Course ids are prefix + zero-padded index; must not clash with courses already in the database. */
+    private String coursePrefix = "SYN";
+
+    /** Exponent s of the Zipf distribution of course popularity: course k is picked with weight 1/k^s. */
+    private double zipfExponent = 1.0;
+
+    private int maxCoursesPerUser = 6;
+
+    /** Member limits are drawn from these values. */
+    private int[] memberLimits = {5, 10, 20, 50};
+
+    /** Share of groups that are private without a passkey, i.e. joined through join requests. */
+    private double privateGroupRatio = 0.3;
+
+    /** Upper bound of pending join requests per private group. */
+    private int maxPendingRequests = 5;
+
+    /** Share of profiles with an "About Me". */
+    private double aboutMeRatio = 0.7;
+
+    /** Rows per multi-row INSERT statement. */
+    private int rowsPerStatement = 1000;
+
+    /** Every generated user can sign in with this password. */
+    private String password = "password";
+}
@@ -0,0 +1,110 @@
+package com.studyGroup.backend.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.StringJoiner;
+
+/**
+ * Buffers rows for one table and writes them as INSERT ... VALUES (...), (...), ... with up to
+ * rowsPerStatement rows each, committing after every statement. The statement for a full
+ * buffer is prepared once and reused; only the final partial one is prepared separately.
+ * A table whose rows reference another one is given that table's insert as parent, which
+ * is flushed first so foreign keys are satisfied.
+ */
+final class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final int rowsPerStatement;
+
+    private final Object[] buffer;
+
+    private int rows;
+
+    private long written;
+
+    private PreparedStatement fullStatement;
+
+    private MultiRowInsert parent;
+
+    MultiRowInsert(Connection connection, String table, int rowsPerStatement, String... columns) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.buffer = new Object[rowsPerStatement * columns.length];
+    }
+
+    MultiRowInsert after(MultiRowInsert parent) {
+        this.parent = parent;
+        return this;
+    }
+
+    void add(Object... values) throws SQLException {
+        System.arraycopy(values, 0, buffer, rows * columns.length, columns.length);
+        if (++rows == rowsPerStatement) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        if (rows == 0) {
+            return;
+        }
+        if (parent != null) {
+            parent.flush();
+        }
+        if (rows == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            execute(fullStatement);
+        } else {
+            try (PreparedStatement partial = connection.prepareStatement(sql(rows))) {
+                execute(partial);
+            }
+        }
+        connection.commit();
+        written += rows;
+        rows = 0;
+    }
+
+    long written() {
+        return written;
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < rows * columns.length; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+        statement.executeUpdate();
+    }
+
+    private String sql(int rowCount) {
+        StringJoiner row = new StringJoiner(",", "(", ")");
+        for (int i = 0; i < columns.length; i++) {
+            row.add("?");
+        }
+        StringJoiner values = new StringJoiner(",");
+        for (int i = 0; i < rowCount; i++) {
+            values.add(row.toString());
+        }
+        return "INSERT INTO " + table + " (" + String.join(",", columns) + ") VALUES " + values;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+    }
+}
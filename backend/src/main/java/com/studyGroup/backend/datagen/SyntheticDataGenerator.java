@@ -0,0 +1,256 @@
+package com.studyGroup.backend.datagen;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.studyGroup.backend.service.PasswordHashingService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * Streams a synthetic dataset shaped like production into the database with multi-row
+ * INSERTs, bypassing JPA: courses with Zipf-distributed popularity, users with profiles
+ * enrolled in a few courses each, groups spread over courses by the same distribution,
+ * memberships of up to memberLimit users taken from the course's students, and pending
+ * join requests on private groups.
+ *
+ * Ids are assigned here, continuing from the highest id in each table, and the identity
+ * columns are moved past them afterwards. For a given seed and starting ids the output is
+ * identical from run to run. Only the per-course student lists are held in memory. The
+ * second-level cache is cleared afterwards, since the cached course list no longer holds.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Maya", "Liam", "Priya", "Noah", "Zara", "Ethan", "Ananya",
+            "Lucas", "Sofia", "Arjun", "Emma", "Kabir", "Olivia", "Rohan", "Isla", "Mateo", "Diya", "Leo", "Chloe"};
+
+    private static final String[] LAST_NAMES = {"Sharma", "Smith", "Patel", "Garcia", "Chen", "Kumar", "Müller",
+            "Nguyen", "Khan", "Rossi", "Okafor", "Silva", "Kim", "Singh", "Johnson", "Ivanova"};
+
+    private static final String[] SUBJECTS = {"Algorithms", "Databases", "Operating Systems", "Linear Algebra",
+            "Calculus", "Statistics", "Networks", "Compilers", "Machine Learning", "Physics", "Economics", "Chemistry"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataGenProperties properties;
+
+    public Result generate() throws SQLException {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        ZipfSampler coursePopularity = new ZipfSampler(properties.getCourses(), properties.getZipfExponent());
+        String passwordHash = passwordHashingService.encode(properties.getPassword());
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long firstUserId = nextId(connection, "user", "id");
+                long firstGroupId = nextId(connection, "study_group", "group_id");
+                long firstRequestId = nextId(connection, "group_join_request", "id");
+
+                long courses = insertCourses(connection, random);
+                IntList[] students = insertUsers(connection, random, coursePopularity, firstUserId, passwordHash);
+                long[] groupRows = insertGroups(connection, random, coursePopularity, students, firstGroupId, firstRequestId);
+
+                restartIdentity(connection, "user", "id", firstUserId + properties.getUsers());
+                restartIdentity(connection, "study_group", "group_id", firstGroupId + groupRows[0]);
+                restartIdentity(connection, "group_join_request", "id", firstRequestId + groupRows[2]);
+                connection.commit();
+                entityManagerFactory.getCache().evictAll();
+
+                Result result = new Result(courses, properties.getUsers(), groupRows[0], groupRows[1], groupRows[2],
+                        (System.nanoTime() - start) / 1_000_000);
+                log.info("Generated {} courses, {} users and profiles, {} groups, {} memberships and {} join requests in {} ms",
+                        result.courses(), result.users(), result.groups(), result.memberships(), result.joinRequests(), result.millis());
+                return result;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private long insertCourses(Connection connection, SplittableRandom random) throws SQLException {
+        try (MultiRowInsert courses = new MultiRowInsert(connection, "course", properties.getRowsPerStatement(),
+                "course_id", "course_name", "description")) {
+            for (int c = 0; c < properties.getCourses(); c++) {
+                String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+                courses.add(courseId(c), subject + " " + (100 + c), "Synthetic course on " + subject.toLowerCase());
+            }
+            courses.flush();
+            return courses.written();
+        }
+    }
+
+    /**
+     * Writes users and their profiles and returns, per course, the ids of the users enrolled in it.
+     */
+    private IntList[] insertUsers(Connection connection, SplittableRandom random, ZipfSampler coursePopularity,
+                                  long firstUserId, String passwordHash) throws SQLException {
+        IntList[] students = new IntList[properties.getCourses()];
+        for (int c = 0; c < students.length; c++) {
+            students[c] = new IntList();
+        }
+        int rowsPerStatement = properties.getRowsPerStatement();
+        try (MultiRowInsert users = new MultiRowInsert(connection, "user", rowsPerStatement, "id", "name", "email", "role", "password");
+             MultiRowInsert profiles = new MultiRowInsert(connection, "profile", rowsPerStatement,
+                     "email", "fullname", "about_me", "enrolled_course_ids").after(users)) {
+            Set<Integer> enrolled = new HashSet<>();
+            for (int u = 0; u < properties.getUsers(); u++) {
+                int id = Math.toIntExact(firstUserId + u);
+                String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String email = "synthetic." + id + "@example.com";
+                users.add(id, name, email, 0, passwordHash);
+
+                enrolled.clear();
+                int courseCount = 1 + random.nextInt(Math.min(properties.getMaxCoursesPerUser(), properties.getCourses()));
+                StringJoiner json = new StringJoiner(",", "[", "]");
+                while (enrolled.size() < courseCount) {
+                    int course = coursePopularity.next(random);
+                    if (enrolled.add(course)) {
+                        json.add("\"" + courseId(course) + "\"");
+                        students[course].add(id);
+                    }
+                }
+                String aboutMe = random.nextDouble() < properties.getAboutMeRatio()
+                        ? "Studying " + courseCount + " courses, happy to join a study group." : null;
+                profiles.add(email, name, aboutMe, json.toString());
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Writes groups with their memberships and pending join requests.
+     *
+     * @return the number of groups, memberships and join requests written
+     */
+    private long[] insertGroups(Connection connection, SplittableRandom random, ZipfSampler coursePopularity,
+                                IntList[] students, long firstGroupId, long firstRequestId) throws SQLException {
+        int rowsPerStatement = properties.getRowsPerStatement();
+        int[] memberLimits = properties.getMemberLimits();
+        long groupId = firstGroupId;
+        long requestId = firstRequestId;
+        try (MultiRowInsert groups = new MultiRowInsert(connection, "study_group", rowsPerStatement,
+                "group_id", "name", "description", "associated_course_id", "created_by_userid", "privacy", "passkey", "member_limit");
+             MultiRowInsert members = new MultiRowInsert(connection, "group_member", rowsPerStatement,
+                     "group_id", "user_id", "role").after(groups);
+             MultiRowInsert requests = new MultiRowInsert(connection, "group_join_request", rowsPerStatement,
+                     "id", "group_id", "user_id", "status").after(groups)) {
+            Set<Integer> taken = new HashSet<>();
+            for (int g = 0; g < properties.getGroups(); g++) {
+                int course = coursePopularity.next(random);
+                IntList candidates = students[course];
+                if (candidates.size() == 0) {
+                    continue;
+                }
+                int memberLimit = memberLimits[random.nextInt(memberLimits.length)];
+                boolean isPrivate = random.nextDouble() < properties.getPrivateGroupRatio();
+                int creator = candidates.get(random.nextInt(candidates.size()));
+                groups.add(groupId, "Study group " + (g + 1), "Synthetic group for " + courseId(course), courseId(course),
+                        creator, isPrivate ? "private" : "public", null, memberLimit);
+
+                taken.clear();
+                taken.add(creator);
+                members.add(groupId, creator, "Admin");
+                int size = 1 + random.nextInt(Math.min(memberLimit, candidates.size()));
+                // Bounded retries: in a course with few students the group may end up smaller.
+                for (int attempt = 0; taken.size() < size && attempt < size * 4; attempt++) {
+                    int member = candidates.get(random.nextInt(candidates.size()));
+                    if (taken.add(member)) {
+                        members.add(groupId, member, "Member");
+                    }
+                }
+                if (isPrivate) {
+                    int pending = random.nextInt(properties.getMaxPendingRequests() + 1);
+                    for (int attempt = 0; pending > 0 && attempt < 20; attempt++) {
+                        int applicant = candidates.get(random.nextInt(candidates.size()));
+                        if (taken.add(applicant)) {
+                            requests.add(requestId++, groupId, applicant, "PENDING");
+                            pending--;
+                        }
+                    }
+                }
+                groupId++;
+            }
+            members.flush();
+            requests.flush();
+            return new long[]{groups.written(), members.written(), requests.written()};
+        }
+    }
+
+    private String courseId(int index) {
+        return properties.getCoursePrefix() + String.format("%05d", index);
+    }
+
+    private static long nextId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            max.next();
+            return max.getLong(1) + 1;
+        }
+    }
+
+    /**
+     * Makes the identity column hand out ids from next on, past the ones written here.
+     * MySQL does this by itself when explicit values are inserted.
+     */
+    private static void restartIdentity(Connection connection, String table, String column, long next) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        try (Statement statement = connection.createStatement()) {
+            if ("H2".equals(product)) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+            } else if ("PostgreSQL".equals(product)) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', '" + column + "'), " + next + ", false)");
+            }
+        }
+    }
+
+    public record Result(long courses, long users, long groups, long memberships, long joinRequests, long millis) {
+    }
+
+    /** Growable int array; boxed lists would cost several times the memory at a million users. */
+    private static final class IntList {
+
+        private int[] values = new int[16];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.studyGroup.backend.datagen;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the configured database with synthetic data at startup, e.g.
+ * java -jar backend.jar --datagen.enabled=true --datagen.users=1000000 --datagen.groups=50000
+ * --spring.main.web-application-type=none
+ */
+@Component
+@ConditionalOnProperty(name = "datagen.enabled", havingValue = "true")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private DataGenProperties properties;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generator.generate();
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.studyGroup.backend.dto;
+
+import com.studyGroup.backend.model.ChatMessage;
+
+import java.time.Instant;
+
+public record ChatMessageDTO(Long id, Long groupId, Integer senderId, String senderName, String content, Instant sentAt) {
+
+    public static ChatMessageDTO from(ChatMessage message) {
+        return new ChatMessageDTO(message.getId(), message.getGroupId(), message.getSenderId(), message.getSenderName(),
+                message.getContent(), message.getSentAt());
+    }
+
+    public ChatMessage toEntity() {
+        return new ChatMessage(id, groupId, senderId, senderName, content, sentAt);
+    }
+}
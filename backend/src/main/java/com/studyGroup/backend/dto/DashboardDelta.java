@@ -0,0 +1,66 @@
+package com.studyGroup.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One change to a subscriber's dashboard, sent as a "delta" event on /api/dashboard/stream.
+ * Each delta carries the new value rather than an increment, so applying one twice is harmless.
+ * Only the fields relevant to the type are set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardDelta(Type type, Long groupId, GroupDTO group, Long memberCount,
+                             List<SuggestedPeerDTO> suggestedPeers, SuggestedPeerDTO peer, Integer peerUserId,
+                             Integer enrolledCoursesCount) {
+
+    public enum Type {
+        /** The subscriber joined {@code group}. */
+        GROUP_JOINED,
+        /** {@code group} changed (details or the subscriber's role); replaces the old entry. */
+        GROUP_UPDATED,
+        /** The subscriber is no longer a member of {@code groupId}. */
+        GROUP_LEFT,
+        /** {@code groupId} now has {@code memberCount} members. */
+        MEMBER_COUNT_CHANGED,
+        /** Replaces the whole suggested peer list. */
+        SUGGESTED_PEERS,
+        /** Adds {@code peer} to the suggestions or replaces the entry for the same user. */
+        PEER_SUGGESTED,
+        /** {@code peerUserId} no longer shares a course with the subscriber. */
+        PEER_REMOVED,
+        ENROLLED_COURSES_COUNT
+    }
+
+    public static DashboardDelta groupJoined(GroupDTO group) {
+        return new DashboardDelta(Type.GROUP_JOINED, group.getGroupId(), group, null, null, null, null, null);
+    }
+
+    public static DashboardDelta groupUpdated(GroupDTO group) {
+        return new DashboardDelta(Type.GROUP_UPDATED, group.getGroupId(), group, null, null, null, null, null);
+    }
+
+    public static DashboardDelta groupLeft(Long groupId) {
+        return new DashboardDelta(Type.GROUP_LEFT, groupId, null, null, null, null, null, null);
+    }
+
+    public static DashboardDelta memberCountChanged(Long groupId, long memberCount) {
+        return new DashboardDelta(Type.MEMBER_COUNT_CHANGED, groupId, null, memberCount, null, null, null, null);
+    }
+
+    public static DashboardDelta suggestedPeers(List<SuggestedPeerDTO> suggestedPeers) {
+        return new DashboardDelta(Type.SUGGESTED_PEERS, null, null, null, suggestedPeers, null, null, null);
+    }
+
+    public static DashboardDelta peerSuggested(SuggestedPeerDTO peer) {
+        return new DashboardDelta(Type.PEER_SUGGESTED, null, null, null, null, peer, null, null);
+    }
+
+    public static DashboardDelta peerRemoved(Integer peerUserId) {
+        return new DashboardDelta(Type.PEER_REMOVED, null, null, null, null, null, peerUserId, null);
+    }
+
+    public static DashboardDelta enrolledCoursesCount(int count) {
+        return new DashboardDelta(Type.ENROLLED_COURSES_COUNT, null, null, null, null, null, null, count);
+    }
+}
@@ -0,0 +1,41 @@
+package com.studyGroup.backend.dto;
+
+import com.studyGroup.backend.model.User;
+
+import java.time.Instant;
+
+/**
+ * A change to a group, pushed to WebSocket subscribers once the transaction that made
+ * it commits. userId/userName identify the member or requester the event is about;
+ * role and requestId are only set where they apply.
+ */
+public record GroupEvent(Type type, Long groupId, Long userId, String userName, String role, Long requestId,
+                         Instant occurredAt) {
+
+    public enum Type {
+        JOIN_REQUEST_CREATED,
+        JOIN_REQUEST_APPROVED,
+        JOIN_REQUEST_DENIED,
+        MEMBER_JOINED,
+        MEMBER_LEFT,
+        MEMBER_REMOVED,
+        ROLE_CHANGED,
+        GROUP_UPDATED,
+        GROUP_DELETED
+    }
+
+    public static GroupEvent of(Type type, Long groupId) {
+        return new GroupEvent(type, groupId, null, null, null, null, Instant.now());
+    }
+
+    public static GroupEvent of(Type type, Long groupId, User user, String role, Long requestId) {
+        return new GroupEvent(type, groupId, Long.valueOf(user.getId()), user.getName(), role, requestId, Instant.now());
+    }
+
+    /**
+     * Join request events carry requester details only admins may see, so they go to the admin channel.
+     */
+    public boolean adminOnly() {
+        return type == Type.JOIN_REQUEST_CREATED || type == Type.JOIN_REQUEST_APPROVED || type == Type.JOIN_REQUEST_DENIED;
+    }
+}
@@ -0,0 +1,9 @@
+package com.studyGroup.backend.dto;
+
+import java.util.List;
+
+/**
+ * Presence changes in a group since the previous diff, pushed on /topic/groups/{id}/presence.
+ */
+public record PresenceDiff(Long groupId, List<Integer> online, List<Integer> offline) {
+}
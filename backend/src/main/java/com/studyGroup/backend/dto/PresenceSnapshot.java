@@ -0,0 +1,9 @@
+package com.studyGroup.backend.dto;
+
+import java.util.List;
+
+/**
+ * Ids of the group's members that currently have an open WebSocket connection.
+ */
+public record PresenceSnapshot(Long groupId, List<Integer> online) {
+}
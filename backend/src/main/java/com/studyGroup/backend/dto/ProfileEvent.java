@@ -0,0 +1,20 @@
+package com.studyGroup.backend.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * A change to a user's course enrolments. enrolledCourseIds is the full set after the change.
+ */
+public record ProfileEvent(Type type, String email, String courseId, Set<String> enrolledCourseIds,
+                           Instant occurredAt) {
+
+    public enum Type {
+        COURSE_ENROLLED,
+        COURSE_UNENROLLED
+    }
+
+    public static ProfileEvent of(Type type, String email, String courseId, Set<String> enrolledCourseIds) {
+        return new ProfileEvent(type, email, courseId, Set.copyOf(enrolledCourseIds), Instant.now());
+    }
+}
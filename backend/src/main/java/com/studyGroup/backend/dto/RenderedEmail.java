@@ -0,0 +1,7 @@
+package com.studyGroup.backend.dto;
+
+/**
+ * Output of EmailTemplateService. html is null when the template has no HTML variant.
+ */
+public record RenderedEmail(String subject, String text, String html) {
+}
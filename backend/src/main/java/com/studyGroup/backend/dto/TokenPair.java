@@ -0,0 +1,4 @@
+package com.studyGroup.backend.dto;
+
+public record TokenPair(String token, String refreshToken) {
+}
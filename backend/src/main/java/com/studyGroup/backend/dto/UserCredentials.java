@@ -0,0 +1,7 @@
+package com.studyGroup.backend.dto;
+
+/**
+ * Auth-only view of a User: just what sign-in and password checks need.
+ */
+public record UserCredentials(Integer id, String email, String password) {
+}
@@ -0,0 +1,11 @@
+package com.studyGroup.backend.exception;
+
+/**
+ * Thrown when a bounded worker pool cannot take more work. Mapped to 503 Service Unavailable.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
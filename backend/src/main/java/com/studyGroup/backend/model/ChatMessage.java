@@ -0,0 +1,48 @@
+package com.studyGroup.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * A group chat message. Ids are assigned by ChatService in send order, so they double
+ * as the keyset cursor for paging through history.
+ */
+@Entity
+@Table(name = "chat_message", indexes = @Index(name = "idx_chat_message_group_id", columnList = "group_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessage implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "sender_id", nullable = false)
+    private Integer senderId;
+
+    @Column(name = "sender_name")
+    private String senderName;
+
+    @Column(nullable = false, length = 2000)
+    private String content;
+
+    @Column(name = "sent_at", nullable = false)
+    private Instant sentAt;
+
+    /**
+     * Messages are insert-only, so saveAll can persist them straight away (and in JDBC
+     * batches) instead of checking for an existing row first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
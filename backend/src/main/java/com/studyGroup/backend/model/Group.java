@@ -30,7 +30,7 @@ public class Group {
     @JoinColumn(name = "created_by_userid", nullable = false)
     private User createdBy;
 
-    private String privacy; 
+    private String privacy; // "public" or "private", stored lower-case
 
     private String passkey; 
 
@@ -6,7 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "group_join_request")
+@Table(name = "group_join_request",
+        indexes = @Index(name = "idx_group_join_request_group_status_user", columnList = "group_id, status, user_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(name = "group_member", indexes = @Index(name = "idx_group_member_group_user", columnList = "group_id, user_id, role"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
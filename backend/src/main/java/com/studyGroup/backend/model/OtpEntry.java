@@ -0,0 +1,29 @@
+package com.studyGroup.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of the database-backed OTP store (an OTP code or a flow flag such as
+ * "email verified"). Expired rows are ignored on read and purged in batches.
+ */
+@Entity
+@Table(name = "otp_entry", indexes = @Index(name = "idx_otp_entry_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpEntry {
+
+    @EmbeddedId
+    private OtpEntryId id;
+
+    @Column(name = "entry_value", nullable = false)
+    private String value;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
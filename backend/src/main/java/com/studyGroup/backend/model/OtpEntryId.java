@@ -0,0 +1,36 @@
+package com.studyGroup.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpEntryId implements Serializable {
+
+    @Column(nullable = false, length = 32)
+    private String bucket;
+
+    @Column(name = "entry_key", nullable = false)
+    private String entryKey;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OtpEntryId that = (OtpEntryId) o;
+        return Objects.equals(bucket, that.bucket) && Objects.equals(entryKey, that.entryKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bucket, entryKey);
+    }
+}
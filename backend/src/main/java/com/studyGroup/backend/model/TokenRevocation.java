@@ -0,0 +1,37 @@
+package com.studyGroup.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token (tokenId set) or, when tokenId is null, every access token
+ * of the subject issued before revokedBefore. Rows are purged once expiresAt passes,
+ * since every token they could match has expired by then.
+ */
+@Entity
+@Table(name = "token_revocation", indexes = @Index(name = "idx_token_revocation_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(name = "token_id")
+    private String tokenId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.studyGroup.backend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.studyGroup.backend.model.ChatMessage;
+
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+    List<ChatMessage> findByGroupIdOrderByIdDesc(Long groupId, Pageable pageable);
+
+    List<ChatMessage> findByGroupIdAndIdLessThanOrderByIdDesc(Long groupId, Long beforeId, Pageable pageable);
+
+    // Long rather than long: Spring Data reads a primitive return type on a derived delete
+    // as "delete one entity" and returns null (or the entity) instead of the count.
+    @Transactional
+    Long deleteByGroupId(Long groupId);
+}
@@ -1,13 +1,21 @@
 package com.studyGroup.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.studyGroup.backend.model.Course;
 
+import java.util.List;
+
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, String> {
-   
-}
 
+    // The course list rarely changes; serve it from the query cache (see SecondLevelCacheConfig).
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Course> findAll();
+}
@@ -2,6 +2,7 @@
 
 package com.studyGroup.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +20,7 @@ public interface GroupJoinRequestRepository extends JpaRepository<GroupJoinReque
     boolean existsByGroupAndUserAndStatus(Group group, User user, String status);
 
     // This method is CRITICAL for showing pending requests on the admin page
+    @EntityGraph(attributePaths = "user")
     List<GroupJoinRequest> findByGroupAndStatus(Group group, String status); 
 
     @Transactional
@@ -1,6 +1,9 @@
 package com.studyGroup.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.studyGroup.backend.model.Group;
@@ -8,25 +11,45 @@ import com.studyGroup.backend.model.GroupMember;
 import com.studyGroup.backend.model.GroupMemberId;
 import com.studyGroup.backend.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional; 
 
 @Repository
 public interface GroupMemberRepository extends JpaRepository<GroupMember, GroupMemberId> {
 
-    List<GroupMember> findByUserId(Integer userId);
+    // The queries below filter on the key columns (m.id.*). Derived from m.user.id or
+    // m.group.groupId they would join user or study_group and filter on the joined table,
+    // which keeps the database from using the group_member keys.
+
+    @Query("SELECT m FROM GroupMember m WHERE m.id.userId = :userId")
+    List<GroupMember> findByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT m FROM GroupMember m WHERE m.id.userId IN :userIds")
+    List<GroupMember> findByUserIdIn(@Param("userIds") Collection<Integer> userIds);
+
+    /** Memberships with group, course and creator loaded, for building GroupDTOs. */
+    @EntityGraph(attributePaths = {"group", "group.associatedCourse", "group.createdBy"})
+    @Query("SELECT m FROM GroupMember m WHERE m.id.userId = :userId")
+    List<GroupMember> findWithGroupByUserId(@Param("userId") Integer userId);
 
     long countByGroup(Group group);
 
+    @Query("SELECT COUNT(m) FROM GroupMember m WHERE m.id.groupId = :groupId")
+    long countByGroupGroupId(@Param("groupId") Long groupId);
+
+    /** Rows of [groupId, member count]; groups without members are absent. */
+    @Query("SELECT m.id.groupId, COUNT(m) FROM GroupMember m WHERE m.id.groupId IN :groupIds GROUP BY m.id.groupId")
+    List<Object[]> countByGroupIds(@Param("groupIds") Collection<Long> groupIds);
+
     boolean existsByGroupAndUser(Group group, User user);
     
-    /**
-     * FIX: Correct method naming to traverse to the Group entity (group) 
-     * and use its specific primary key name (GroupId).
-     * Assuming the User primary key is 'id' (User_Id).
-     */
-    Optional<GroupMember> findByGroupGroupIdAndUser_Id(Long groupId, Integer userId); 
+    @Query("SELECT m FROM GroupMember m WHERE m.id.groupId = :groupId AND m.id.userId = :userId")
+    Optional<GroupMember> findByGroupGroupIdAndUser_Id(@Param("groupId") Long groupId, @Param("userId") Integer userId);
 
     // Used by GroupService.getGroupMembers
     List<GroupMember> findByGroup(Group group);
+
+    @EntityGraph(attributePaths = "user")
+    List<GroupMember> findWithUserByGroup(Group group);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.studyGroup.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,9 @@ import java.util.List;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
-   
-    List<Group> findAllByPrivacyIgnoreCase(String privacy);
+
+    // Course and creator are needed for every GroupDTO; fetch them in the same query.
+    @Override
+    @EntityGraph(attributePaths = {"associatedCourse", "createdBy"})
+    List<Group> findAll();
 }
@@ -0,0 +1,39 @@
+package com.studyGroup.backend.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.studyGroup.backend.model.OtpEntry;
+import com.studyGroup.backend.model.OtpEntryId;
+
+import jakarta.transaction.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OtpEntryRepository extends JpaRepository<OtpEntry, OtpEntryId> {
+
+    /**
+     * Inserts the entry or overwrites the existing one in a single statement, so two
+     * instances writing the same key can't fail with a duplicate-key error.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO otp_entry (bucket, entry_key, entry_value, expires_at) VALUES (:bucket, :key, :value, :expiresAt) "
+            + "ON DUPLICATE KEY UPDATE entry_value = :value, expires_at = :expiresAt", nativeQuery = true)
+    int upsert(@Param("bucket") String bucket, @Param("key") String key, @Param("value") String value,
+               @Param("expiresAt") Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OtpEntry e WHERE e.id = :id AND e.value = :value AND e.expiresAt > :now")
+    int deleteIfMatches(@Param("id") OtpEntryId id, @Param("value") String value, @Param("now") Instant now);
+
+    @Query("SELECT e.id FROM OtpEntry e WHERE e.expiresAt <= :now")
+    List<OtpEntryId> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+}
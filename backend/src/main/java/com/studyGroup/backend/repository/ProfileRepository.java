@@ -5,6 +5,8 @@ import org.springframework.stereotype.Repository;
 
 import com.studyGroup.backend.model.Profile;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,6 @@ public interface ProfileRepository extends JpaRepository<Profile, String> {
     
     // This custom method will be used explicitly in the GroupService
     Optional<Profile> findByEmail(String email);
+
+    List<Profile> findByEmailIn(Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.studyGroup.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.studyGroup.backend.model.TokenRevocation;
+
+import jakarta.transaction.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByExpiresAtAfter(Instant now);
+
+    List<TokenRevocation> findByIdGreaterThan(Long id);
+
+    @Transactional
+    Long deleteByExpiresAtBefore(Instant now);
+}
@@ -1,8 +1,13 @@
 package com.studyGroup.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.studyGroup.backend.dto.UserCredentials;
 import com.studyGroup.backend.model.User;
 
 import java.util.Optional;
@@ -12,5 +17,13 @@ public interface UsersRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    Optional<UserCredentials> findCredentialsByEmail(String email);
+
     boolean existsByEmail(String email);
+
+    /** Replaces the hash only if it is still the one the caller read; returns the rows updated. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Integer id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
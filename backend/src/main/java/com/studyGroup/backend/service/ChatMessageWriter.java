@@ -0,0 +1,163 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.studyGroup.backend.dto.ChatMessageDTO;
+import com.studyGroup.backend.repository.ChatMessageRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for chat messages. Senders only enqueue; a single writer
+ * thread drains the queue and inserts up to chat.persist.batch-size messages per
+ * transaction (sent as JDBC batches, see hibernate.jdbc.batch_size). When the queue is
+ * full the sender writes its own message, which slows senders down instead of dropping
+ * messages.
+ *
+ * A batch that fails to insert is retried up to chat.persist.max-attempts times with a
+ * growing delay, then written one message per transaction so a single bad row does not
+ * take the rest with it. Messages that still fail are logged at error level and counted
+ * in chat.persist.failed.
+ */
+@Component
+public class ChatMessageWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatMessageWriter.class);
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chat.persist.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${chat.persist.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.persist.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    @Value("${chat.persist.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${chat.persist.retry-delay:500ms}")
+    private Duration retryDelay;
+
+    private BlockingQueue<ChatMessageDTO> queue;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    private Counter persisted;
+
+    private Counter failed;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        persisted = Counter.builder("chat.persist.messages").register(meterRegistry);
+        failed = Counter.builder("chat.persist.failed").register(meterRegistry);
+        meterRegistry.gauge("chat.persist.queue.size", queue, BlockingQueue::size);
+
+        running = true;
+        writerThread = new Thread(this::run, "chat-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        flushRemaining();
+    }
+
+    public void enqueue(ChatMessageDTO message) {
+        if (!queue.offer(message)) {
+            write(List.of(message));
+        }
+    }
+
+    private void run() {
+        List<ChatMessageDTO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ChatMessageDTO first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<ChatMessageDTO> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ChatMessageDTO> batch) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                save(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to persist {} chat messages (attempt {} of {}): {}",
+                        batch.size(), attempt, maxAttempts, e.getMessage());
+            }
+            if (attempt < maxAttempts && !pause(retryDelay.multipliedBy(attempt))) {
+                break;
+            }
+        }
+        for (ChatMessageDTO message : batch) {
+            try {
+                save(List.of(message));
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("Dropped chat message {} of group {}", message.id(), message.groupId(), e);
+            }
+        }
+    }
+
+    private void save(List<ChatMessageDTO> messages) {
+        chatMessageRepository.saveAll(messages.stream().map(ChatMessageDTO::toEntity).toList());
+        persisted.increment(messages.size());
+    }
+
+    /** False if interrupted, i.e. the writer is stopping and should not wait any longer. */
+    private static boolean pause(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
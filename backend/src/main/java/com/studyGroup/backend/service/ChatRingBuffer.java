@@ -0,0 +1,78 @@
+package com.studyGroup.backend.service;
+
+import com.studyGroup.backend.dto.ChatMessageDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The most recent messages of one group in a fixed-size ring, oldest slot overwritten first.
+ * Guarded by a ReentrantLock rather than synchronized so virtual threads are never pinned.
+ */
+final class ChatRingBuffer {
+
+    private final ChatMessageDTO[] slots;
+
+    /** Total number of messages ever appended; the next write goes to appended % capacity. */
+    private long appended;
+
+    /** True while the ring still holds every message the group has ever had. */
+    private boolean complete;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * @param history newest first, as loaded from the database
+     * @param complete whether history is the group's entire history
+     */
+    ChatRingBuffer(int capacity, List<ChatMessageDTO> history, boolean complete) {
+        this.slots = new ChatMessageDTO[capacity];
+        this.complete = complete;
+        for (int i = history.size() - 1; i >= 0; i--) {
+            append(history.get(i));
+        }
+    }
+
+    void append(ChatMessageDTO message) {
+        lock.lock();
+        try {
+            if (appended >= slots.length) {
+                complete = false;
+            }
+            slots[(int) (appended % slots.length)] = message;
+            appended++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Up to limit messages with an id below beforeId (or the newest ones if beforeId is null), newest first.
+     */
+    List<ChatMessageDTO> before(Long beforeId, int limit) {
+        lock.lock();
+        try {
+            List<ChatMessageDTO> page = new ArrayList<>(Math.min(limit, slots.length));
+            long oldest = Math.max(0, appended - slots.length);
+            for (long i = appended - 1; i >= oldest && page.size() < limit; i--) {
+                ChatMessageDTO message = slots[(int) (i % slots.length)];
+                if (beforeId == null || message.id() < beforeId) {
+                    page.add(message);
+                }
+            }
+            return page;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isComplete() {
+        lock.lock();
+        try {
+            return complete;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.studyGroup.backend.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyGroup.backend.dto.ChatMessageDTO;
+import com.studyGroup.backend.dto.GroupEvent;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.ChatMessageRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group chat. The newest chat.history.buffer-size messages of each active group are kept
+ * in a ChatRingBuffer, so posting and reading recent history don't touch the database;
+ * messages are persisted behind the sender's back by ChatMessageWriter. Older history
+ * is paged from the database with an id cursor.
+ *
+ * This assumes one instance serves chat: the STOMP broker is node-local, so messages
+ * posted on one node never reach another node's subscribers or ring either.
+ *
+ * Callers are responsible for checking that the user is a member of the group.
+ */
+@Service
+public class ChatService {
+
+    public static final String CHAT_SUFFIX = "/chat";
+
+    /** 2025-01-01T00:00:00Z; message ids count milliseconds from here. */
+    private static final long ID_EPOCH_MILLIS = 1735689600000L;
+
+    private static final int NODE_BITS = 10;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ChatMessageWriter chatMessageWriter;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${chat.history.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${chat.history.max-groups:1000}")
+    private long maxGroups;
+
+    @Value("${chat.message.max-length:2000}")
+    private int maxLength;
+
+    @Value("${chat.node-id:0}")
+    private long nodeId;
+
+    private Cache<Long, ChatRingBuffer> buffers;
+
+    private final AtomicLong lastId = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        if (nodeId < 0 || nodeId >= (1L << NODE_BITS)) {
+            throw new IllegalStateException("chat.node-id must be between 0 and " + ((1L << NODE_BITS) - 1));
+        }
+        buffers = CacheBuilder.newBuilder()
+                .maximumSize(maxGroups)
+                .expireAfterAccess(30, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, buffers, "chat.buffers");
+    }
+
+    public ChatMessageDTO post(Long groupId, User sender, String content) {
+        if (content == null || content.isBlank()) {
+            throw new RuntimeException("Message cannot be empty.");
+        }
+        if (content.length() > maxLength) {
+            throw new RuntimeException("Message is longer than " + maxLength + " characters.");
+        }
+
+        ChatRingBuffer buffer = buffer(groupId);
+        ChatMessageDTO message = new ChatMessageDTO(nextId(), groupId, sender.getId(), sender.getName(), content, Instant.now());
+        buffer.append(message);
+        chatMessageWriter.enqueue(message);
+        messagingTemplate.convertAndSend(GroupEventBroadcaster.TOPIC_PREFIX + groupId + CHAT_SUFFIX, message);
+        return message;
+    }
+
+    /**
+     * Up to limit messages older than beforeId (the newest ones if beforeId is null), newest first.
+     * Served from the ring buffer where possible; only the part older than the ring is read from the database.
+     */
+    public List<ChatMessageDTO> history(Long groupId, Long beforeId, int limit) {
+        ChatRingBuffer buffer = buffer(groupId);
+        List<ChatMessageDTO> page = buffer.before(beforeId, limit);
+        if (page.size() == limit || buffer.isComplete()) {
+            return page;
+        }
+
+        Long cursor = page.isEmpty() ? beforeId : page.get(page.size() - 1).id();
+        List<ChatMessageDTO> result = new ArrayList<>(page);
+        PageRequest pageRequest = PageRequest.of(0, limit - page.size());
+        (cursor == null
+                ? chatMessageRepository.findByGroupIdOrderByIdDesc(groupId, pageRequest)
+                : chatMessageRepository.findByGroupIdAndIdLessThanOrderByIdDesc(groupId, cursor, pageRequest))
+                .forEach(message -> result.add(ChatMessageDTO.from(message)));
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupEvent(GroupEvent event) {
+        if (event.type() == GroupEvent.Type.GROUP_DELETED) {
+            buffers.invalidate(event.groupId());
+            chatMessageRepository.deleteByGroupId(event.groupId());
+        }
+    }
+
+    /**
+     * Loads the group's newest messages into a ring the first time the group is used
+     * (or after it was evicted). The query runs outside the cache so it holds no monitor;
+     * if two threads load the same group at once, the first ring stored wins.
+     */
+    private ChatRingBuffer buffer(Long groupId) {
+        ChatRingBuffer buffer = buffers.getIfPresent(groupId);
+        if (buffer != null) {
+            return buffer;
+        }
+        List<ChatMessageDTO> recent = chatMessageRepository.findByGroupIdOrderByIdDesc(groupId, PageRequest.of(0, bufferSize))
+                .stream().map(ChatMessageDTO::from).toList();
+        ChatRingBuffer loaded = new ChatRingBuffer(bufferSize, recent, recent.size() < bufferSize);
+        ChatRingBuffer existing = buffers.asMap().putIfAbsent(groupId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Time-ordered ids: milliseconds since ID_EPOCH_MILLIS, then a per-millisecond sequence,
+     * then chat.node-id so two instances never hand out the same id. If the sequence runs
+     * out within a millisecond, the id simply borrows from the next one.
+     */
+    private long nextId() {
+        long candidate = ((System.currentTimeMillis() - ID_EPOCH_MILLIS) << (SEQUENCE_BITS + NODE_BITS)) | nodeId;
+        return lastId.accumulateAndGet(candidate, (previous, next) -> Math.max(previous + (1L << NODE_BITS), next));
+    }
+}
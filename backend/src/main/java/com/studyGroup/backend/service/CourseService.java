@@ -2,6 +2,7 @@ package com.studyGroup.backend.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.studyGroup.backend.model.Course;
 import com.studyGroup.backend.repository.CourseRepository;
@@ -17,11 +18,13 @@ public class CourseService {
     private CourseRepository courseRepository;
 
 
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
 
+    @Transactional(readOnly = true)
     public Optional<Course> getCourseById(String courseId) {
         return courseRepository.findById(courseId);
     }
@@ -11,6 +11,7 @@ import com.studyGroup.backend.model.User;
 import com.studyGroup.backend.repository.ProfileRepository;
 import com.studyGroup.backend.repository.UsersRepository;
 
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -32,6 +33,7 @@ public class DashboardService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Transactional(readOnly = true)
     public DashboardDTO getDashboardData(User currentUser) throws IOException {
 
         List<GroupDTO> joinedGroups = groupService.findGroupsByUserId(currentUser.getId());
@@ -46,7 +48,8 @@ public class DashboardService {
     }
 
 
-    private List<SuggestedPeerDTO> getSuggestedPeers(User currentUser) throws IOException {
+    @Transactional(readOnly = true)
+    List<SuggestedPeerDTO> getSuggestedPeers(User currentUser) throws IOException {
 
         Profile currentUserProfile = profileRepository.findByEmail(currentUser.getEmail())
                 .orElseThrow(() -> new RuntimeException("Current user profile not found."));
@@ -61,9 +64,12 @@ public class DashboardService {
         List<User> allOtherUsers = usersRepository.findAll().stream()
                 .filter(user -> !user.getId().equals(currentUser.getId()))
                 .collect(Collectors.toList());
+        // One query for all profiles rather than one per user.
+        Map<String, Profile> profilesByEmail = profileRepository.findAll().stream()
+                .collect(Collectors.toMap(Profile::getEmail, profile -> profile));
 
         for (User otherUser : allOtherUsers) {
-            Optional<Profile> otherUserProfileOpt = profileRepository.findByEmail(otherUser.getEmail());
+            Optional<Profile> otherUserProfileOpt = Optional.ofNullable(profilesByEmail.get(otherUser.getEmail()));
             if (otherUserProfileOpt.isPresent()) {
                 Set<String> otherUserCourses = getEnrolledCourseIdsAsSet(otherUserProfileOpt.get());
 
@@ -83,6 +89,11 @@ public class DashboardService {
     }
 
 
+    Set<String> getEnrolledCourseIds(User user) throws IOException {
+        Optional<Profile> profile = profileRepository.findByEmail(user.getEmail());
+        return profile.isPresent() ? getEnrolledCourseIdsAsSet(profile.get()) : new HashSet<>();
+    }
+
     private Set<String> getEnrolledCourseIdsAsSet(Profile profile) throws IOException {
         String enrolledCoursesJson = profile.getEnrolledCourseIds();
         if (enrolledCoursesJson == null || enrolledCoursesJson.isEmpty() || enrolledCoursesJson.equals("[]")) {
@@ -0,0 +1,696 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.studyGroup.backend.config.PrimaryReads;
+import com.studyGroup.backend.dto.DashboardDelta;
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.dto.GroupEvent;
+import com.studyGroup.backend.dto.PeerUserDTO;
+import com.studyGroup.backend.dto.ProfileEvent;
+import com.studyGroup.backend.dto.SuggestedPeerDTO;
+import com.studyGroup.backend.model.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events behind GET /api/dashboard/stream. A subscriber gets the full dashboard
+ * once ("dashboard" event) and then only DashboardDelta events ("delta") derived from
+ * GroupEvent and ProfileEvent, so an open dashboard no longer re-runs getDashboardData.
+ *
+ * Events are applied on a single dispatcher thread, in commit order. It owns the per-user
+ * state (groups and roles, enrolled courses) and the groupId/courseId indexes used to find
+ * the subscribers a change concerns, so none of that needs locking. The dispatcher never
+ * queries the database itself: a new user's groups and courses, and the group summaries and
+ * member counts a delta needs, are read on a lookup pool, once per event however many
+ * subscribers it concerns. A delta whose lookup is still running waits at the head of the
+ * subscriber's buffer, so deltas still arrive in order. These reads follow a commit and run
+ * outside any request, so they go to the primary (PrimaryReads) rather than a replica that
+ * may not have the change yet.
+ *
+ * Sending happens on a small sender pool: each subscriber has a bounded buffer drained by at
+ * most one sender at a time. A subscriber that falls buffer-size events behind has its buffer
+ * replaced by a fresh snapshot. Idle streams get a comment line every heartbeat so proxies
+ * keep them open and dead connections are noticed. A stream whose access token has expired
+ * or been revoked is completed at its next send or heartbeat; the client reopens it with a
+ * fresh token.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${dashboard.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${dashboard.stream.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${dashboard.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${dashboard.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${dashboard.stream.lookup-threads:4}")
+    private int lookupThreads;
+
+    /** Senders block writing to slow clients, so they run as virtual threads when the web tier does. */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /** userId -> state of that user's open streams. Written on the dispatcher thread only. */
+    private final Map<Integer, UserStream> streams = new ConcurrentHashMap<>();
+
+    /** groupId -> subscribed users who are members. Dispatcher thread only. */
+    private final Map<Long, Set<Integer>> watchersByGroup = new HashMap<>();
+
+    /** courseId -> subscribed users enrolled in it. Dispatcher thread only. */
+    private final Map<String, Set<Integer>> watchersByCourse = new HashMap<>();
+
+    /** userId -> a stream whose groups and courses are still being read. Dispatcher thread only. */
+    private final Map<Integer, PendingStream> loading = new HashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ExecutorService dispatcher;
+
+    private ExecutorService senders;
+
+    private ExecutorService lookups;
+
+    private Counter resyncs;
+
+    @PostConstruct
+    void init() {
+        dispatcher = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "dashboard-dispatch"));
+        senders = Executors.newFixedThreadPool(senderThreads, threads("dashboard-sse-"));
+        lookups = Executors.newFixedThreadPool(lookupThreads, threads("dashboard-lookup-"));
+        resyncs = Counter.builder("dashboard.stream.resyncs").register(meterRegistry);
+        meterRegistry.gauge("dashboard.stream.subscribers", subscriberCount);
+    }
+
+    /**
+     * Streams never end on their own, so they are completed before graceful shutdown waits for open requests.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        streams.values().forEach(stream -> stream.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        dispatcher.shutdownNow();
+        lookups.shutdownNow();
+        senders.shutdownNow();
+        senders.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a stream for the user, authorized by the given access token until it expires or is
+     * revoked. The snapshot is sent from a sender thread once the user's groups and courses are
+     * indexed, so no change committed after it was read is missed.
+     */
+    public SseEmitter subscribe(User user, JWTService.VerifiedToken token) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many open dashboard streams, try again later.");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(user, token, emitter);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+        dispatch(() -> register(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupEvent(GroupEvent event) {
+        if (subscriberCount.get() > 0 && !event.adminOnly()) {
+            dispatch(() -> apply(event));
+        }
+    }
+
+    /**
+     * The enrolling user is the one making the request, so the lookup is normally a hit in
+     * the user cache; it is done here rather than on the dispatcher all the same.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileEvent(ProfileEvent event) {
+        if (subscriberCount.get() > 0) {
+            userCacheService.findByEmail(event.email()).ifPresent(user -> dispatch(() -> apply(event, user)));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${dashboard.stream.heartbeat:15s}")
+    public void sendHeartbeats() {
+        long idleSince = System.nanoTime() - heartbeat.toNanos();
+        for (UserStream stream : streams.values()) {
+            for (Subscriber subscriber : stream.subscribers) {
+                if (!authorized(subscriber)) {
+                    continue;
+                }
+                if (subscriber.lastSentNanos - idleSince <= 0 && subscriber.offerIfIdle(Marker.HEARTBEAT)) {
+                    schedule(subscriber);
+                }
+            }
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        Integer userId = subscriber.user.getId();
+        UserStream stream = streams.get(userId);
+        if (stream != null) {
+            attach(stream, subscriber);
+            return;
+        }
+        PendingStream pending = loading.get(userId);
+        if (pending == null) {
+            pending = new PendingStream(subscriber.user);
+            loading.put(userId, pending);
+            load(pending);
+        }
+        pending.subscribers.add(subscriber);
+    }
+
+    /** Reads the user's groups and courses on a lookup thread and hands them back to the dispatcher. */
+    private void load(PendingStream pending) {
+        pending.stale = false;
+        User user = pending.user;
+        lookup(() -> {
+            UserStream stream = new UserStream(user);
+            stream.groups.putAll(groupService.getMembershipRoles(user.getId()));
+            try {
+                stream.courses.addAll(dashboardService.getEnrolledCourseIds(user));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return stream;
+        }).whenComplete((stream, failure) -> dispatch(() -> loaded(pending, stream, failure)));
+    }
+
+    private void loaded(PendingStream pending, UserStream stream, Throwable failure) {
+        Integer userId = pending.user.getId();
+        if (failure == null && pending.stale) {
+            // The user's groups or courses changed while they were read; read them again.
+            load(pending);
+            return;
+        }
+        loading.remove(userId);
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            log.warn("Could not open dashboard stream for user {}: {}", userId, cause.getMessage());
+            pending.subscribers.forEach(subscriber -> subscriber.emitter.completeWithError(cause));
+            return;
+        }
+        pending.subscribers.removeIf(subscriber -> subscriber.closed.get());
+        if (pending.subscribers.isEmpty()) {
+            return;
+        }
+        stream.groups.keySet().forEach(groupId -> index(watchersByGroup, groupId, userId));
+        stream.courses.forEach(courseId -> index(watchersByCourse, courseId, userId));
+        streams.put(userId, stream);
+        pending.subscribers.forEach(subscriber -> attach(stream, subscriber));
+    }
+
+    private void attach(UserStream stream, Subscriber subscriber) {
+        stream.subscribers.add(subscriber);
+        subscriber.offer(Marker.SNAPSHOT);
+        schedule(subscriber);
+    }
+
+    /** Marks a stream still being loaded for the user as out of date. */
+    private void invalidateLoading(Long userId) {
+        PendingStream pending = userId != null ? loading.get(userId.intValue()) : null;
+        if (pending != null) {
+            pending.stale = true;
+        }
+    }
+
+    /**
+     * Completes the subscriber's stream if its access token has expired or been revoked.
+     */
+    private boolean authorized(Subscriber subscriber) {
+        if (jwtService.isStillValid(subscriber.token)) {
+            return true;
+        }
+        subscriber.emitter.complete();
+        close(subscriber);
+        return false;
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            dispatch(() -> unregister(subscriber));
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        Integer userId = subscriber.user.getId();
+        PendingStream pending = loading.get(userId);
+        if (pending != null) {
+            pending.subscribers.remove(subscriber);
+        }
+        UserStream stream = streams.get(userId);
+        if (stream == null || !stream.subscribers.remove(subscriber) || !stream.subscribers.isEmpty()) {
+            return;
+        }
+        streams.remove(userId);
+        stream.groups.keySet().forEach(groupId -> unindex(watchersByGroup, groupId, userId));
+        stream.courses.forEach(courseId -> unindex(watchersByCourse, courseId, userId));
+    }
+
+    private void apply(GroupEvent event) {
+        Long groupId = event.groupId();
+        UserStream member = event.userId() != null ? streams.get(event.userId().intValue()) : null;
+        if (!loading.isEmpty()) {
+            if (event.type() == GroupEvent.Type.GROUP_DELETED) {
+                loading.values().forEach(pending -> pending.stale = true);
+            } else if (event.type() != GroupEvent.Type.GROUP_UPDATED) {
+                invalidateLoading(event.userId());
+            }
+        }
+        switch (event.type()) {
+            case MEMBER_JOINED -> {
+                if (member != null) {
+                    member.groups.put(groupId, event.role());
+                    index(watchersByGroup, groupId, member.userId());
+                    member.deliver(lookup(() -> groupService.findGroupSummary(groupId, event.role())
+                            .map(DashboardDelta::groupJoined).orElse(null)), this);
+                }
+                sendMemberCount(groupId, member);
+            }
+            case MEMBER_LEFT, MEMBER_REMOVED -> {
+                if (member != null && member.groups.remove(groupId) != null) {
+                    unindex(watchersByGroup, groupId, member.userId());
+                    member.deliver(DashboardDelta.groupLeft(groupId), this);
+                }
+                sendMemberCount(groupId, null);
+            }
+            case ROLE_CHANGED -> {
+                if (member != null && member.groups.containsKey(groupId)) {
+                    member.groups.put(groupId, event.role());
+                    member.deliver(lookup(() -> groupService.findGroupSummary(groupId, event.role())
+                            .map(DashboardDelta::groupUpdated).orElse(null)), this);
+                }
+            }
+            case GROUP_UPDATED -> {
+                Set<Integer> watchers = watchersByGroup.get(groupId);
+                if (watchers != null) {
+                    CompletableFuture<GroupDTO> group = lookup(() -> groupService.findGroupSummary(groupId, null).orElse(null));
+                    watchers.forEach(userId -> {
+                        UserStream stream = streams.get(userId);
+                        String role = stream.groups.get(groupId);
+                        stream.deliver(group.thenApply(summary -> summary != null
+                                ? DashboardDelta.groupUpdated(withRole(summary, role)) : null), this);
+                    });
+                }
+            }
+            case GROUP_DELETED -> {
+                Set<Integer> watchers = watchersByGroup.remove(groupId);
+                if (watchers != null) {
+                    watchers.forEach(userId -> {
+                        UserStream stream = streams.get(userId);
+                        stream.groups.remove(groupId);
+                        stream.deliver(DashboardDelta.groupLeft(groupId), this);
+                    });
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * The enrolling user gets a new course count and a recomputed peer list; every other
+     * subscriber in the same course gets the changed suggestion for that user alone.
+     */
+    private void apply(ProfileEvent event, User user) {
+        if (!loading.isEmpty()) {
+            invalidateLoading(user.getId().longValue());
+        }
+        Set<String> courses = event.enrolledCourseIds();
+        UserStream own = streams.get(user.getId());
+        if (own != null) {
+            own.courses.forEach(courseId -> unindex(watchersByCourse, courseId, user.getId()));
+            own.courses.clear();
+            own.courses.addAll(courses);
+            courses.forEach(courseId -> index(watchersByCourse, courseId, user.getId()));
+            own.deliver(DashboardDelta.enrolledCoursesCount(courses.size()), this);
+            own.deliver(Marker.REFRESH_PEERS, this);
+        }
+
+        Set<Integer> watchers = watchersByCourse.get(event.courseId());
+        if (watchers == null) {
+            return;
+        }
+        PeerUserDTO peer = PeerUserDTO.fromEntity(user);
+        for (Integer userId : watchers) {
+            if (userId.equals(user.getId())) {
+                continue;
+            }
+            UserStream stream = streams.get(userId);
+            Set<String> common = new HashSet<>(stream.courses);
+            common.retainAll(courses);
+            stream.deliver(common.isEmpty()
+                    ? DashboardDelta.peerRemoved(user.getId())
+                    : DashboardDelta.peerSuggested(new SuggestedPeerDTO(peer, common.size(), common)), this);
+        }
+    }
+
+    private void sendMemberCount(Long groupId, UserStream exclude) {
+        Set<Integer> watchers = watchersByGroup.get(groupId);
+        if (watchers == null || (exclude != null && watchers.size() == 1 && watchers.contains(exclude.userId()))) {
+            return;
+        }
+        CompletableFuture<DashboardDelta> delta = lookup(
+                () -> DashboardDelta.memberCountChanged(groupId, groupService.countMembers(groupId)));
+        watchers.forEach(userId -> {
+            UserStream stream = streams.get(userId);
+            if (stream != exclude) {
+                stream.deliver(delta, this);
+            }
+        });
+    }
+
+    /**
+     * Runs a query on the lookup pool, reading from the primary. A failed lookup is logged
+     * and yields null, which callers treat as nothing to send.
+     */
+    private <T> CompletableFuture<T> lookup(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (PrimaryReads primary = PrimaryReads.open()) {
+                return query.get();
+            }
+        }, lookups).exceptionally(e -> {
+            log.error("Dashboard stream lookup failed", e);
+            return null;
+        });
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(() -> {
+                try (PrimaryReads primary = PrimaryReads.open()) {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Dashboard stream update failed", e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Dashboard stream update dropped: {}", e.getMessage());
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        CompletableFuture<?> waitingFor = null;
+        try {
+            Object item;
+            while (!subscriber.closed.get() && authorized(subscriber) && (item = subscriber.poll()) != null) {
+                if (item instanceof Waiting waiting) {
+                    waitingFor = waiting.lookup();
+                    break;
+                }
+                send(subscriber, item);
+            }
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (waitingFor != null) {
+            // Carry on when the lookup completes rather than holding a sender thread meanwhile.
+            waitingFor.whenComplete((result, failure) -> schedule(subscriber));
+        } else if (!subscriber.closed.get() && subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Object item) {
+        SseEmitter emitter = subscriber.emitter;
+        try {
+            if (item == Marker.SNAPSHOT) {
+                emitter.send(SseEmitter.event().name("dashboard")
+                        .data(dashboardService.getDashboardData(subscriber.user), MediaType.APPLICATION_JSON));
+            } else if (item == Marker.REFRESH_PEERS) {
+                // Follows an enrolment that has just committed.
+                List<SuggestedPeerDTO> peers;
+                try (PrimaryReads primary = PrimaryReads.open()) {
+                    peers = dashboardService.getSuggestedPeers(subscriber.user);
+                }
+                emitter.send(SseEmitter.event().name("delta")
+                        .data(DashboardDelta.suggestedPeers(peers), MediaType.APPLICATION_JSON));
+            } else if (item == Marker.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (item instanceof CompletableFuture<?> lookup) {
+                // Completed, see Subscriber.poll; null when the lookup found nothing or failed.
+                Object delta = lookup.getNow(null);
+                if (delta != null) {
+                    emitter.send(SseEmitter.event().name("delta").data(delta, MediaType.APPLICATION_JSON));
+                }
+            } else {
+                emitter.send(SseEmitter.event().name("delta").data(item, MediaType.APPLICATION_JSON));
+            }
+            subscriber.lastSentNanos = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the emitter and onCompletion unregisters it.
+            close(subscriber);
+        } catch (RuntimeException e) {
+            log.warn("Dashboard stream for user {} failed: {}", subscriber.user.getId(), e.getMessage());
+            emitter.completeWithError(e);
+            close(subscriber);
+        }
+    }
+
+    private static GroupDTO withRole(GroupDTO group, String role) {
+        return new GroupDTO(group.getGroupId(), group.getName(), group.getDescription(), group.getAssociatedCourse(),
+                group.getCreatedBy(), group.getPrivacy(), group.getMemberLimit(), group.getMemberCount(),
+                group.isHasPasskey(), role);
+    }
+
+    private static <K> void index(Map<K, Set<Integer>> index, K key, Integer userId) {
+        index.computeIfAbsent(key, k -> new HashSet<>()).add(userId);
+    }
+
+    private static <K> void unindex(Map<K, Set<Integer>> index, K key, Integer userId) {
+        index.computeIfPresent(key, (k, users) -> users.remove(userId) && users.isEmpty() ? null : users);
+    }
+
+    private ThreadFactory threads(String prefix) {
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        return threads.name(prefix, 1).factory();
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /** Buffer entries resolved when sent rather than when queued. */
+    private enum Marker {
+        SNAPSHOT,
+        REFRESH_PEERS,
+        HEARTBEAT
+    }
+
+    /** Returned by Subscriber.poll while the delta at the head of the buffer is still being looked up. */
+    private record Waiting(CompletableFuture<?> lookup) {
+    }
+
+    /**
+     * Subscribers of a user whose groups and courses are being read. stale is set when an
+     * event that could change them is applied meanwhile, so they are read again.
+     * Dispatcher thread only.
+     */
+    private static final class PendingStream {
+
+        private final User user;
+
+        private final List<Subscriber> subscribers = new ArrayList<>();
+
+        private boolean stale;
+
+        private PendingStream(User user) {
+            this.user = user;
+        }
+    }
+
+    /**
+     * A user's open streams (one per tab) and what the dispatcher knows about the user.
+     * groups and courses are touched by the dispatcher thread only.
+     */
+    private static final class UserStream {
+
+        private final User user;
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        /** groupId -> the user's role in it. */
+        private final Map<Long, String> groups = new HashMap<>();
+
+        private final Set<String> courses = new HashSet<>();
+
+        private UserStream(User user) {
+            this.user = user;
+        }
+
+        private Integer userId() {
+            return user.getId();
+        }
+
+        private void deliver(Object item, DashboardStreamService service) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.offer(item)) {
+                    service.resyncs.increment();
+                }
+                service.schedule(subscriber);
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final User user;
+
+        private final JWTService.VerifiedToken token;
+
+        private final SseEmitter emitter;
+
+        /** Guarded by lock. */
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile long lastSentNanos = System.nanoTime();
+
+        private Subscriber(User user, JWTService.VerifiedToken token, SseEmitter emitter) {
+            this.user = user;
+            this.token = token;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues the item. When the buffer is full the queued deltas are replaced by a snapshot,
+         * which already reflects them; returns true in that case.
+         */
+        private boolean offer(Object item) {
+            lock.lock();
+            try {
+                if (pending.size() < bufferSize) {
+                    pending.add(item);
+                    return false;
+                }
+                pending.clear();
+                pending.add(Marker.SNAPSHOT);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean offerIfIdle(Object item) {
+            lock.lock();
+            try {
+                return pending.isEmpty() && !scheduled.get() && pending.add(item);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * The next item, or null if there is none. A lookup that has not completed is left in
+         * place and reported as Waiting, so deltas behind it are not sent ahead of it.
+         */
+        private Object poll() {
+            lock.lock();
+            try {
+                if (pending.peek() instanceof CompletableFuture<?> lookup && !lookup.isDone()) {
+                    return new Waiting(lookup);
+                }
+                return pending.poll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean hasPending() {
+            lock.lock();
+            try {
+                return !pending.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.studyGroup.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.studyGroup.backend.model.EmailOutbox;
+import com.studyGroup.backend.repository.EmailOutboxRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff:5s}")
+    private Duration initialBackoff;
+
+    @Value("${email.outbox.max-backoff:10m}")
+    private Duration maxBackoff;
+
+    @Value("${email.outbox.lease:15m}")
+    private Duration lease;
+
+    @Value("${email.outbox.batch-size:10}")
+    private int batchSize;
+
+    @Value("${email.smtp.timeout:60s}")
+    private Duration smtpTimeout;
+
+    @Value("${email.smtp.pool.borrow-timeout:10s}")
+    private Duration borrowTimeout;
+
+    @Value("${email.outbox.sent-retention:1d}")
+    private Duration sentRetention;
+
+    /**
+     * A claimed batch must be delivered before its lease runs out, or another worker
+     * re-claims it and the mails go out twice. The lease is therefore never shorter than
+     * waiting for a connection, connecting, and one timed-out send per mail in the batch.
+     */
+    @PostConstruct
+    void init() {
+        Duration worstCaseBatch = borrowTimeout.plus(smtpTimeout.multipliedBy(batchSize + 1L));
+        if (lease.compareTo(worstCaseBatch) <= 0) {
+            log.warn("email.outbox.lease {} is shorter than a batch of {} can take with {} SMTP timeouts; using {}",
+                    lease, batchSize, smtpTimeout, worstCaseBatch.plusMinutes(1));
+            lease = worstCaseBatch.plusMinutes(1);
+        }
+    }
+
+    /**
+     * Joins the caller's transaction, so the mail is only queued if the triggering action commits.
+     */
+    @Transactional
+    public EmailOutbox enqueue(String to, String subject, String body) {
+        return enqueue(to, subject, body, null);
+    }
+
+    @Transactional
+    public EmailOutbox enqueue(String to, String subject, String body, String htmlBody) {
+        Instant now = Instant.now();
+        EmailOutbox email = emailOutboxRepository.save(new EmailOutbox(null, to, subject, body, htmlBody, EmailOutbox.PENDING,
+                0, now, null, now, null));
+        eventPublisher.publishEvent(new EmailQueuedEvent(email.getId()));
+        return email;
+    }
+
+    /**
+     * Claims up to batchSize due rows for this worker by moving them to SENDING with a lease.
+     */
+    @Transactional
+    public List<EmailOutbox> claimBatch(int batchSize) {
+        Instant now = Instant.now();
+        List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        for (EmailOutbox email : due) {
+            email.setStatus(EmailOutbox.SENDING);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setNextAttemptAt(now.plus(lease));
+        }
+        return emailOutboxRepository.saveAll(due);
+    }
+
+    /**
+     * The bodies are cleared once the mail is out: they hold OTP codes in plain text.
+     */
+    @Transactional
+    public void markSent(Long id) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            email.setStatus(EmailOutbox.SENT);
+            email.setSentAt(Instant.now());
+            email.setLastError(null);
+            email.setBody("");
+            email.setHtmlBody(null);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval-ms:3600000}",
+            initialDelayString = "${email.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        int purged = emailOutboxRepository.deleteSentBefore(Instant.now().minus(sentRetention));
+        if (purged > 0) {
+            log.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    /**
+     * Schedules a retry with exponential backoff, or dead-letters the row once it has used all its attempts.
+     */
+    @Transactional
+    public void markFailed(Long id, String error) {
+        emailOutboxRepository.findById(id).ifPresent(email -> {
+            email.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutbox.DEAD);
+                return;
+            }
+            email.setStatus(EmailOutbox.PENDING);
+            email.setNextAttemptAt(Instant.now().plus(backoff(email.getAttempts())));
+        });
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Published on enqueue; delivered to listeners once the surrounding transaction commits.
+     */
+    public record EmailQueuedEvent(Long id) {
+    }
+}
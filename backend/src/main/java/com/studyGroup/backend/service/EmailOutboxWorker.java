@@ -0,0 +1,120 @@
+package com.studyGroup.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyGroup.backend.model.EmailOutbox;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of delivery workers draining the email outbox. Workers poll for due rows and are
+ * also woken as soon as a new mail is committed, so delivery normally starts right away.
+ */
+@Component
+public class EmailOutboxWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxWorker.class);
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Value("${email.outbox.workers:2}")
+    private int workers;
+
+    @Value("${email.outbox.batch-size:10}")
+    private int batchSize;
+
+    @Value("${email.outbox.poll-interval:5s}")
+    private Duration pollInterval;
+
+    /** Workers block on SMTP, so they run as virtual threads when the web tier does. */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private ExecutorService executor;
+
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        Thread.Builder threads = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        executor = Executors.newFixedThreadPool(workers, threads.name("email-outbox-", 1).factory());
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailQueued(EmailOutboxService.EmailQueuedEvent event) {
+        wakeUps.release();
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                List<EmailOutbox> batch = emailOutboxService.claimBatch(batchSize);
+                if (batch.isEmpty()) {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Email outbox worker iteration failed: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * The whole batch goes out over one pooled SMTP connection.
+     */
+    private void deliver(List<EmailOutbox> batch) {
+        List<String> results = emailService.sendBatch(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            String result = results.get(i);
+            if (result.startsWith("200")) {
+                emailOutboxService.markSent(batch.get(i).getId());
+            } else {
+                emailOutboxService.markFailed(batch.get(i).getId(), result.substring(5));
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,22 +1,75 @@
 package com.studyGroup.backend.service;
 
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException; 
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.studyGroup.backend.dto.RenderedEmail;
+import com.studyGroup.backend.model.EmailOutbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
     @Autowired
     private JavaMailSender javaMailSender;
 
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
+
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
+    @Value("${email.smtp.pool.enabled:true}")
+    private boolean poolEnabled;
+
     @Value("${spring.mail.username}")
     private String fromEmailAddress;
 
+    /**
+     * Queues the mail in the outbox and returns immediately. Delivery, retries and
+     * dead-lettering are handled by EmailOutboxWorker.
+     */
+    public void queueEmail(String to, String subject, String body) {
+        emailOutboxService.enqueue(to, subject, body);
+    }
+
+    /**
+     * Renders the named template (text, and HTML if the template has it) for the locale
+     * and queues the result like {@link #queueEmail}.
+     */
+    public void queueTemplatedEmail(String to, String template, Locale locale, Map<String, String> values) {
+        RenderedEmail email = emailTemplateService.render(template, locale, values);
+        emailOutboxService.enqueue(to, email.subject(), email.text(), email.html());
+    }
+
     public String sendEmail(String to, String subject, String body) {
+        if (poolEnabled) {
+            try {
+                smtpTransportPool.send(buildMessage(to, subject, body, null));
+                return "200::Mail Sent Successfully";
+            } catch (MessagingException e) {
+                log.error("Failed to send email to {}", to, e);
+                return "500::Error sending email. Detailed Error: " + e.getMessage();
+            }
+        }
         try {
             SimpleMailMessage mailMessage = new SimpleMailMessage();
           
@@ -28,20 +81,70 @@ public class EmailService {
             javaMailSender.send(mailMessage);
             
             return "200::Mail Sent Successfully";
-        } catch (MailException e) { 
-           
-            String errorMessage = "Failed to send email to " + to + ". MailException Reason: " + e.getMessage();
-            System.err.println("************************************************************************");
-            System.err.println("EMAIL ERROR DETECTED: " + errorMessage);
-            e.printStackTrace(); 
-            System.err.println("************************************************************************");
-            
+        } catch (MailException e) {
+            log.error("Failed to send email to {}", to, e);
             return "500::Error sending email. Detailed Error: " + e.getMessage();
         } catch (Exception e) {
-            String errorMessage = "An unexpected error occurred during email sending: " + e.getMessage();
-            System.err.println("UNEXPECTED EMAIL ERROR: " + errorMessage);
-            e.printStackTrace();
+            log.error("Unexpected error sending email to {}", to, e);
             return "500::Unexpected error during email sending. Detailed Error: " + e.getMessage();
         }
     }
+
+    /**
+     * Sends the outbox rows over one pooled SMTP connection and returns one result
+     * string per row, in order.
+     */
+    public List<String> sendBatch(List<EmailOutbox> emails) {
+        if (!poolEnabled) {
+            List<String> results = new ArrayList<>(emails.size());
+            for (EmailOutbox email : emails) {
+                results.add(email.getHtmlBody() == null
+                        ? sendEmail(email.getRecipient(), email.getSubject(), email.getBody())
+                        : sendUnpooled(email));
+            }
+            return results;
+        }
+
+        List<String> results = new ArrayList<>(emails.size());
+        try {
+            List<MimeMessage> messages = new ArrayList<>(emails.size());
+            for (EmailOutbox email : emails) {
+                messages.add(buildMessage(email.getRecipient(), email.getSubject(), email.getBody(), email.getHtmlBody()));
+            }
+            for (MessagingException failure : smtpTransportPool.sendBatch(messages)) {
+                results.add(failure == null ? "200::Mail Sent Successfully"
+                        : "500::Error sending email. Detailed Error: " + failure.getMessage());
+            }
+        } catch (MessagingException e) {
+            log.error("Failed to send batch of {} emails", emails.size(), e);
+            while (results.size() < emails.size()) {
+                results.add("500::Error sending email. Detailed Error: " + e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private String sendUnpooled(EmailOutbox email) {
+        try {
+            javaMailSender.send(buildMessage(email.getRecipient(), email.getSubject(), email.getBody(), email.getHtmlBody()));
+            return "200::Mail Sent Successfully";
+        } catch (MessagingException | MailException e) {
+            log.error("Failed to send email to {}", email.getRecipient(), e);
+            return "500::Error sending email. Detailed Error: " + e.getMessage();
+        }
+    }
+
+    private MimeMessage buildMessage(String to, String subject, String body, String htmlBody) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, htmlBody != null, "UTF-8");
+        helper.setFrom(fromEmailAddress);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        if (htmlBody != null) {
+            helper.setText(body, htmlBody);
+        } else {
+            helper.setText(body);
+        }
+        return message;
+    }
 }
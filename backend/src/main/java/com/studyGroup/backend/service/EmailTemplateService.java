@@ -0,0 +1,145 @@
+package com.studyGroup.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import com.studyGroup.backend.dto.RenderedEmail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email templates under templates/email on the classpath, compiled once at startup.
+ *
+ * A template is a plain-text file name.txt whose first line is "Subject: ..." followed
+ * by a blank line, plus an optional name.html. Localised variants are named
+ * name_es.txt, name_es_MX.html and so on. A lookup picks the most specific of language
+ * and country, language and the default that has a .txt, and takes the subject, text and
+ * HTML all from that one locale, so an email never mixes languages; if that locale has no
+ * .html the email is text only. HTML output escapes substituted values.
+ */
+@Service
+public class EmailTemplateService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplateService.class);
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    /** Buffers larger than this are dropped rather than kept for the next render on the thread. */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    @Value("${email.templates.location:classpath*:templates/email/}")
+    private String location;
+
+    /** Compiled templates keyed by file name, e.g. registration-otp_es.html. */
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+
+    /**
+     * Resolved (name, locale) lookups, so the templates are looked up once per pair. The
+     * locale comes from the client's Accept-Language, so it is first narrowed to one that
+     * has templates; the map can't grow past the number of template variants.
+     */
+    private final Map<LookupKey, ResolvedTemplate> resolved = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location + "*.*");
+            for (Resource resource : resources) {
+                String fileName = resource.getFilename();
+                if (fileName == null || !(fileName.endsWith(".txt") || fileName.endsWith(".html"))) {
+                    continue;
+                }
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                if (fileName.endsWith(".txt")) {
+                    compileText(fileName, source);
+                } else {
+                    templates.put(fileName, CompiledTemplate.compile(fileName, source));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email templates from " + location, e);
+        }
+        log.info("Compiled {} email templates", templates.size());
+    }
+
+    public RenderedEmail render(String name, Locale locale, Map<String, String> values) {
+        ResolvedTemplate template = resolved.computeIfAbsent(new LookupKey(name, supportedLocale(name, locale)), this::resolve);
+        return new RenderedEmail(
+                render(template.subject(), values, false),
+                render(template.text(), values, false),
+                template.html() != null ? render(template.html(), values, true) : null);
+    }
+
+    private void compileText(String fileName, String source) {
+        String base = fileName.substring(0, fileName.length() - ".txt".length());
+        String normalized = source.replace("\r\n", "\n");
+        if (!normalized.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalArgumentException("Email template " + fileName + " must start with a Subject: line");
+        }
+        int lineEnd = normalized.indexOf('\n');
+        String subject = (lineEnd < 0 ? normalized : normalized.substring(0, lineEnd)).substring(SUBJECT_PREFIX.length()).trim();
+        String body = lineEnd < 0 ? "" : normalized.substring(lineEnd + 1);
+        if (body.startsWith("\n")) {
+            body = body.substring(1);
+        }
+        templates.put(base + ".subject", CompiledTemplate.compile(base + ".subject", subject));
+        templates.put(fileName, CompiledTemplate.compile(fileName, body));
+    }
+
+    private ResolvedTemplate resolve(LookupKey key) {
+        String base = key.locale().toString().isEmpty() ? key.name() : key.name() + "_" + key.locale();
+        CompiledTemplate text = templates.get(base + ".txt");
+        if (text == null) {
+            throw new IllegalArgumentException("Unknown email template: " + key.name());
+        }
+        return new ResolvedTemplate(templates.get(base + ".subject"), text, templates.get(base + ".html"));
+    }
+
+    /** The most specific of language_COUNTRY, language and ROOT that has a text variant of the template. */
+    private Locale supportedLocale(String name, Locale locale) {
+        if (locale == null || locale.getLanguage().isEmpty()) {
+            return Locale.ROOT;
+        }
+        if (!locale.getCountry().isEmpty() && hasVariant(name + "_" + locale.getLanguage() + "_" + locale.getCountry())) {
+            return Locale.of(locale.getLanguage(), locale.getCountry());
+        }
+        if (hasVariant(name + "_" + locale.getLanguage())) {
+            return Locale.of(locale.getLanguage());
+        }
+        return Locale.ROOT;
+    }
+
+    private boolean hasVariant(String base) {
+        return templates.containsKey(base + ".txt");
+    }
+
+    private static String render(CompiledTemplate template, Map<String, String> values, boolean escapeHtml) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, values, escapeHtml);
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private record LookupKey(String name, Locale locale) {
+    }
+
+    private record ResolvedTemplate(CompiledTemplate subject, CompiledTemplate text, CompiledTemplate html) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.studyGroup.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyGroup.backend.dto.GroupEvent;
+
+/**
+ * Forwards committed GroupService events to STOMP subscribers:
+ * /topic/groups/{id} for members and /topic/groups/{id}/admin for the group's admins.
+ */
+@Component
+public class GroupEventBroadcaster {
+
+    public static final String TOPIC_PREFIX = "/topic/groups/";
+
+    public static final String ADMIN_SUFFIX = "/admin";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupEvent(GroupEvent event) {
+        String destination = TOPIC_PREFIX + event.groupId() + (event.adminOnly() ? ADMIN_SUFFIX : "");
+        messagingTemplate.convertAndSend(destination, event);
+    }
+}
@@ -1,11 +1,13 @@
 package com.studyGroup.backend.service;
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.studyGroup.backend.dto.CourseSummaryDTO;
 import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.dto.GroupEvent;
 import com.studyGroup.backend.dto.GroupDTO;
 import com.studyGroup.backend.dto.GroupJoinRequestDTO;
 import com.studyGroup.backend.dto.UserSummaryDTO;
@@ -15,8 +17,15 @@ import com.studyGroup.backend.repository.GroupMemberRepository;
 import com.studyGroup.backend.repository.GroupRepository;
 import com.studyGroup.backend.repository.ProfileRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,6 +46,9 @@ public class GroupService {
     @Autowired
     private ProfileRepository profileRepository; 
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Helper method to retrieve the "About Me" field from the Profile entity.
      * Searches by email using the defined repository method.
@@ -60,11 +72,23 @@ public class GroupService {
     }
 
     /**
-     * Helper to convert GroupMember to DTO, pulling 'aboutMe' from Profile.
+     * Batch form of getUserAboutMe for list endpoints: one profile query for all emails.
+     * Emails without a non-blank "About Me" are absent from the map.
      */
-    private UserSummaryDTO convertToUserSummaryDTO(GroupMember member) {
+    private Map<String, String> getAboutMeByEmail(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+        return profileRepository.findByEmailIn(emails).stream()
+                .filter(profile -> profile.getAboutMe() != null && !profile.getAboutMe().trim().isEmpty())
+                .collect(Collectors.toMap(Profile::getEmail, profile -> profile.getAboutMe().trim()));
+    }
+
+    /**
+     * Helper to convert GroupMember to DTO, with 'aboutMe' already looked up from Profile.
+     */
+    private UserSummaryDTO convertToUserSummaryDTO(GroupMember member, String aboutMe) {
         User user = member.getUser();
-        String aboutMe = getUserAboutMe(user);
 
         return new UserSummaryDTO(
                 Long.valueOf(user.getId()),
@@ -79,18 +103,80 @@ public class GroupService {
         return groupMemberRepository.findByGroupGroupIdAndUser_Id(groupId, user.getId());
     }
 
-    private GroupDTO convertToDTO(Group group) {
-        return convertToDTO(group, null);
+    /**
+     * Role of the user in the group, or empty if they are not a member. Used to authorize
+     * WebSocket subscriptions.
+     */
+    public Optional<String> getMemberRole(Long groupId, Integer userId) {
+        return groupMemberRepository.findByGroupGroupIdAndUser_Id(groupId, userId).map(GroupMember::getRole);
+    }
+
+    /**
+     * The user's role in every group they belong to, keyed by group id.
+     */
+    public Map<Long, String> getMembershipRoles(Integer userId) {
+        return groupMemberRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(m -> m.getId().getGroupId(), GroupMember::getRole));
+    }
+
+    /**
+     * Roles of several users in one query, keyed by user id and then group id. Every given
+     * user is present; those without memberships map to an empty map.
+     */
+    public Map<Integer, Map<Long, String>> getMembershipRoles(Collection<Integer> userIds) {
+        Map<Integer, Map<Long, String>> roles = new HashMap<>();
+        userIds.forEach(userId -> roles.put(userId, new HashMap<>()));
+        groupMemberRepository.findByUserIdIn(userIds)
+                .forEach(m -> roles.get(m.getId().getUserId()).put(m.getId().getGroupId(), m.getRole()));
+        return roles;
+    }
+
+    /**
+     * The group as the dashboard lists it, with userRole set to the given role. Empty if the group is gone.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GroupDTO> findGroupSummary(Long groupId, String userRole) {
+        return groupRepository.findById(groupId).map(group -> convertToDTO(group, userRole));
+    }
+
+    public long countMembers(Long groupId) {
+        return groupMemberRepository.countByGroupGroupId(groupId);
     }
 
     /**
      * Helper to convert Group to DTO, pulling creator 'aboutMe' from Profile.
      */
     private GroupDTO convertToDTO(Group group, String userRole) {
-        long memberCount = groupMemberRepository.countByGroup(group);
+        return convertToDTO(group, userRole, groupMemberRepository.countByGroup(group), getUserAboutMe(group.getCreatedBy()));
+    }
+
+    /**
+     * Converts a list of groups with a fixed number of queries: member counts and creator
+     * profiles are fetched for all groups at once. Course and creator must already be loaded
+     * (see the entity graphs on GroupRepository.findAll and GroupMemberRepository.findWithGroupByUserId).
+     */
+    private List<GroupDTO> convertToDTOs(List<Group> groups, Function<Group, String> userRoleOf) {
+        if (groups.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Long> memberCounts = new HashMap<>();
+        for (Object[] row : groupMemberRepository.countByGroupIds(groups.stream().map(Group::getGroupId).toList())) {
+            memberCounts.put((Long) row[0], (Long) row[1]);
+        }
+        Map<String, String> creatorAboutMe = getAboutMeByEmail(groups.stream()
+                .map(group -> group.getCreatedBy().getEmail())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        return groups.stream()
+                .map(group -> convertToDTO(group, userRoleOf.apply(group), memberCounts.getOrDefault(group.getGroupId(), 0L),
+                        creatorAboutMe.get(group.getCreatedBy().getEmail())))
+                .collect(Collectors.toList());
+    }
+
+    private GroupDTO convertToDTO(Group group, String userRole, long memberCount, String creatorAboutMe) {
         boolean hasPasskey = group.getPasskey() != null && !group.getPasskey().isEmpty();
         User creator = group.getCreatedBy();
-        String creatorAboutMe = getUserAboutMe(creator);
 
         return new GroupDTO(
                 group.getGroupId(),
@@ -121,6 +207,7 @@ public class GroupService {
         String role = membership.getRole();
 
         groupMemberRepository.delete(membership);
+        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.MEMBER_LEFT, groupId, currentUser, role, null));
 
         if ("Admin".equalsIgnoreCase(role)) {
             Long remainingMembers = groupMemberRepository.countByGroup(group);
@@ -128,6 +215,7 @@ public class GroupService {
             if (remainingMembers == 0) {
                 groupJoinRequestRepository.deleteByGroup(group);
                 groupRepository.delete(group);
+                eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.GROUP_DELETED, groupId));
 
                 return "Successfully left the group. The group has been deleted completely as you were the last member.";
             } else {
@@ -149,6 +237,7 @@ public class GroupService {
 
                         group.setCreatedBy(nextAdmin.getUser());
                         groupRepository.save(group);
+                        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.ROLE_CHANGED, groupId, nextAdmin.getUser(), "Admin", null));
 
                         return "Successfully left the group. Ownership has been transferred to " + nextAdmin.getUser().getName() + ", who is now the new Admin.";
                     }
@@ -175,6 +264,7 @@ public class GroupService {
         group.setName(groupDetails.getName());
         group.setDescription(groupDetails.getDescription());
         Group updatedGroup = groupRepository.save(group);
+        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.GROUP_UPDATED, groupId));
 
         String userRole = groupMemberRepository.findByGroupGroupIdAndUser_Id(groupId, currentUser.getId())
                 .map(GroupMember::getRole)
@@ -183,6 +273,7 @@ public class GroupService {
         return convertToDTO(updatedGroup, userRole);
     }
 
+    @Transactional(readOnly = true)
     public GroupDTO getGroupDetails(Long groupId, User currentUser) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found with ID: " + groupId));
@@ -198,6 +289,7 @@ public class GroupService {
         return convertToDTO(group, userRole);
     }
 
+    @Transactional(readOnly = true)
     public List<UserSummaryDTO> getGroupMembers(Long groupId, User currentUser) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found with ID: " + groupId));
@@ -206,18 +298,23 @@ public class GroupService {
             throw new RuntimeException("You must be a member of this group to view the member list.");
         }
 
-        List<GroupMember> members = groupMemberRepository.findByGroup(group);
+        List<GroupMember> members = groupMemberRepository.findWithUserByGroup(group);
+        Map<String, String> aboutMe = getAboutMeByEmail(members.stream()
+                .map(member -> member.getUser().getEmail())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
 
         return members.stream()
-                .map(this::convertToUserSummaryDTO)
+                .map(member -> convertToUserSummaryDTO(member, aboutMe.get(member.getUser().getEmail())))
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<GroupDTO> findGroupsByUserId(Integer userId) {
-        List<GroupMember> memberships = groupMemberRepository.findByUserId(userId);
-        return memberships.stream()
-                .map(membership -> convertToDTO(membership.getGroup(), membership.getRole()))
-                .collect(Collectors.toList());
+        List<GroupMember> memberships = groupMemberRepository.findWithGroupByUserId(userId);
+        Map<Long, String> roles = memberships.stream()
+                .collect(Collectors.toMap(membership -> membership.getGroup().getGroupId(), GroupMember::getRole));
+        return convertToDTOs(memberships.stream().map(GroupMember::getGroup).toList(), group -> roles.get(group.getGroupId()));
     }
 
     @Transactional
@@ -230,7 +327,7 @@ public class GroupService {
         group.setDescription(request.getDescription());
         group.setAssociatedCourse(course);
         group.setCreatedBy(user);
-        group.setPrivacy(request.getPrivacy());
+        group.setPrivacy(request.getPrivacy() != null ? request.getPrivacy().toLowerCase(Locale.ROOT) : null);
         group.setMemberLimit(request.getMemberLimit());
 
         if ("private".equalsIgnoreCase(request.getPrivacy()) && request.getPasskey() != null && !request.getPasskey().isEmpty()) {
@@ -245,14 +342,15 @@ public class GroupService {
         ownerMembership.setUser(user);
         ownerMembership.setRole("Admin");
         groupMemberRepository.save(ownerMembership);
+        // The creator's open STOMP sessions, presence and dashboard stream pick up the new group from this.
+        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.MEMBER_JOINED, savedGroup.getGroupId(), user, "Admin", null));
 
         return convertToDTO(savedGroup, "Admin");
     }
 
+    @Transactional(readOnly = true)
     public List<GroupDTO> getAllGroups() {
-        return groupRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(groupRepository.findAll(), group -> null);
     }
 
     @Transactional
@@ -284,6 +382,7 @@ public class GroupService {
                 joinRequest.setUser(user);
                 joinRequest.setStatus("PENDING");
                 groupJoinRequestRepository.save(joinRequest);
+                eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.JOIN_REQUEST_CREATED, groupId, user, null, joinRequest.getId()));
                 return;
             }
         }
@@ -294,11 +393,13 @@ public class GroupService {
         newMembership.setUser(user);
         newMembership.setRole("Member");
         groupMemberRepository.save(newMembership);
+        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.MEMBER_JOINED, groupId, user, "Member", null));
     }
 
     /**
      * Retrieves join requests for a specific group.
      */
+    @Transactional(readOnly = true)
     public List<GroupJoinRequestDTO> getJoinRequests(Long groupId, User currentUser) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found."));
@@ -312,14 +413,19 @@ public class GroupService {
         }
 
         // Fetch PENDING requests only
-        return groupJoinRequestRepository.findByGroupAndStatus(group, "PENDING").stream()
+        List<GroupJoinRequest> requests = groupJoinRequestRepository.findByGroupAndStatus(group, "PENDING");
+        Map<String, String> aboutMe = getAboutMeByEmail(requests.stream()
+                .map(req -> req.getUser().getEmail())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        return requests.stream()
                 .map(req -> new GroupJoinRequestDTO(
                         req.getId(),
                         new UserSummaryDTO(
                                 Long.valueOf(req.getUser().getId()), 
                                 req.getUser().getName(), 
                                 req.getUser().getEmail(), 
-                                getUserAboutMe(req.getUser()), // Correctly fetching bio from Profile
+                                aboutMe.get(req.getUser().getEmail()), // Bio from Profile, looked up for all requests at once
                                 "Pending"
                         ),
                         req.getStatus()
@@ -367,7 +473,11 @@ public class GroupService {
             newMembership.setUser(request.getUser());
             newMembership.setRole("Member");
             groupMemberRepository.save(newMembership);
-        } else if (!"DENIED".equalsIgnoreCase(status)) {
+            eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.JOIN_REQUEST_APPROVED, groupId, request.getUser(), null, requestId));
+            eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.MEMBER_JOINED, groupId, request.getUser(), "Member", null));
+        } else if ("DENIED".equalsIgnoreCase(status)) {
+            eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.JOIN_REQUEST_DENIED, groupId, request.getUser(), null, requestId));
+        } else {
              throw new RuntimeException("Invalid status provided. Must be APPROVED or DENIED.");
         }
 
@@ -410,6 +520,7 @@ public class GroupService {
         
         // 6. Clean up any related join requests (Requires deleteByGroupAndUser in repository)
         groupJoinRequestRepository.deleteByGroupAndUser(group, memberToRemove.getUser()); 
+        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.MEMBER_REMOVED, groupId, memberToRemove.getUser(), memberToRemove.getRole(), null));
     }
     
     /**
@@ -443,5 +554,6 @@ public class GroupService {
         
         memberToUpdate.setRole(newRole);
         groupMemberRepository.save(memberToUpdate);
+        eventPublisher.publishEvent(GroupEvent.of(GroupEvent.Type.ROLE_CHANGED, groupId, memberToUpdate.getUser(), newRole, null));
     }
 }
\ No newline at end of file
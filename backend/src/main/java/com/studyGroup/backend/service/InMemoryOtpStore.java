@@ -0,0 +1,65 @@
+package com.studyGroup.backend.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bounded Guava cache per bucket, reported to Micrometer as otp.&lt;bucket&gt;.
+ * State is local to the instance and lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${otp.store.max-size:100000}")
+    private long maxSize;
+
+    private final Map<Bucket, Cache<String, String>> caches = new EnumMap<>(Bucket.class);
+
+    @PostConstruct
+    void init() {
+        for (Bucket bucket : Bucket.values()) {
+            Cache<String, String> cache = CacheBuilder.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(bucket.ttl().toMillis(), TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    .build();
+            GuavaCacheMetrics.monitor(meterRegistry, cache, "otp." + bucket.name().toLowerCase());
+            caches.put(bucket, cache);
+        }
+    }
+
+    @Override
+    public void put(Bucket bucket, String key, String value) {
+        caches.get(bucket).put(key, value);
+    }
+
+    @Override
+    public String get(Bucket bucket, String key) {
+        return caches.get(bucket).getIfPresent(key);
+    }
+
+    @Override
+    public void remove(Bucket bucket, String key) {
+        caches.get(bucket).invalidate(key);
+    }
+
+    @Override
+    public boolean removeIfMatches(Bucket bucket, String key, String value) {
+        return value != null && caches.get(bucket).asMap().remove(key, value);
+    }
+}
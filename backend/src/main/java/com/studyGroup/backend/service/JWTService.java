@@ -1,15 +1,25 @@
 package com.studyGroup.backend.service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JWTService {
@@ -17,42 +27,140 @@ public class JWTService {
     @Value("${jwt.secret}")
     private String secretKeyString;
 
-    @Value("${jwt.expiration.ms}")
+    @Value("${jwt.access.expiration.ms:900000}")
     private long expirationTime;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long tokenCacheMaxSize;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * Tokens that already passed signature verification, keyed by the SHA-256 digest
+     * of the raw token. Each entry carries the token's own expiry and is dropped on
+     * the first read after that instant.
+     */
+    private Cache<String, VerifiedToken> verifiedTokenCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKeyString.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokenCache = CacheBuilder.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfterWrite(expirationTime, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, verifiedTokenCache, "jwt.verifiedTokens");
+    }
+
     private SecretKey getSigningKey() {
-       
-        return Keys.hmacShaKeyFor(secretKeyString.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
- 
+
     public String generateToken(String email) {
         return Jwts.builder()
-                .setSubject(email) 
+                .setId(UUID.randomUUID().toString())
+                .setSubject(email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    
+
     public String validateToken(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified == null || tokenRevocationService.isRevoked(verified.subject(), verified.tokenId(), verified.issuedAtMillis())) {
+            return "401";
+        }
+        return verified.subject();
+    }
+
+    /**
+     * Like {@link #validateToken(String)}, but returns the token's claims, or null if the
+     * token is invalid, expired or revoked. For connections that outlive the request that
+     * opened them and must be re-checked with {@link #isStillValid(VerifiedToken)}.
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        VerifiedToken verified = verify(token);
+        return verified != null && isStillValid(verified) ? verified : null;
+    }
+
+    /** False once the token has expired or has been revoked, on this node or another. */
+    public boolean isStillValid(VerifiedToken token) {
+        return token.expiresAtMillis() > System.currentTimeMillis()
+                && !tokenRevocationService.isRevoked(token.subject(), token.tokenId(), token.issuedAtMillis());
+    }
+
+    /**
+     * Revokes a single access token, e.g. on logout. Invalid or expired tokens are ignored.
+     */
+    public void revokeToken(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified != null && verified.tokenId() != null) {
+            tokenRevocationService.revokeToken(verified.subject(), verified.tokenId(),
+                    Instant.ofEpochMilli(verified.expiresAtMillis()));
+        }
+    }
+
+    /**
+     * Revokes every access token issued to the user so far, e.g. after a password change.
+     */
+    public void revokeAllTokens(String email) {
+        tokenRevocationService.revokeAllForSubject(email, expirationTime);
+    }
+
+    private VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached;
+            }
+            verifiedTokenCache.invalidate(digest);
+            return null;
+        }
+
         try {
-            return getClaimFromToken(token, Claims::getSubject);
+            Claims claims = parseClaims(token);
+            Date expiration = claims.getExpiration();
+            Date issuedAt = claims.getIssuedAt();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getId(),
+                    issuedAt != null ? issuedAt.getTime() : 0L,
+                    expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+            if (expiration != null) {
+                verifiedTokenCache.put(digest, verified);
+            }
+            return verified;
         } catch (Exception e) {
-           
-            return "401";
+
+            return null;
         }
     }
 
-    
-    private <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private Claims parseClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
-}
 
+    private static String digest(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+    }
+
+    public record VerifiedToken(String subject, String tokenId, long issuedAtMillis, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.studyGroup.backend.model.OtpEntry;
+import com.studyGroup.backend.model.OtpEntryId;
+import com.studyGroup.backend.repository.OtpEntryRepository;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OTP state in the otp_entry table, shared by every instance pointing at the same
+ * database. Reads ignore expired rows; a scheduled job deletes them in batches so a
+ * large backlog never turns into one long-running delete.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "jdbc")
+public class JdbcOtpStore implements OtpStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcOtpStore.class);
+
+    @Autowired
+    private OtpEntryRepository otpEntryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${otp.store.purge-batch-size:500}")
+    private int purgeBatchSize;
+
+    private final Map<Bucket, Counter> hits = new EnumMap<>(Bucket.class);
+
+    private final Map<Bucket, Counter> misses = new EnumMap<>(Bucket.class);
+
+    @PostConstruct
+    void init() {
+        for (Bucket bucket : Bucket.values()) {
+            String cache = "otp." + bucket.name().toLowerCase();
+            hits.put(bucket, Counter.builder("otp.store.gets").tag("cache", cache).tag("result", "hit").register(meterRegistry));
+            misses.put(bucket, Counter.builder("otp.store.gets").tag("cache", cache).tag("result", "miss").register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void put(Bucket bucket, String key, String value) {
+        // One statement instead of save(): inside a caller's transaction a duplicate-key error
+        // would only surface at flush and would already have marked the transaction rollback-only.
+        otpEntryRepository.upsert(bucket.name(), key, value, Instant.now().plus(bucket.ttl()));
+    }
+
+    @Override
+    public String get(Bucket bucket, String key) {
+        String value = otpEntryRepository.findById(new OtpEntryId(bucket.name(), key))
+                .filter(entry -> entry.getExpiresAt().isAfter(Instant.now()))
+                .map(OtpEntry::getValue)
+                .orElse(null);
+        (value != null ? hits : misses).get(bucket).increment();
+        return value;
+    }
+
+    @Override
+    public void remove(Bucket bucket, String key) {
+        otpEntryRepository.deleteById(new OtpEntryId(bucket.name(), key));
+    }
+
+    @Override
+    public boolean removeIfMatches(Bucket bucket, String key, String value) {
+        boolean removed = value != null
+                && otpEntryRepository.deleteIfMatches(new OtpEntryId(bucket.name(), key), value, Instant.now()) == 1;
+        (removed ? hits : misses).get(bucket).increment();
+        return removed;
+    }
+
+    @Scheduled(fixedDelayString = "${otp.store.purge-interval-ms:60000}",
+            initialDelayString = "${otp.store.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        long purged = 0;
+        List<OtpEntryId> expired;
+        do {
+            expired = otpEntryRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+            if (!expired.isEmpty()) {
+                otpEntryRepository.deleteAllByIdInBatch(expired);
+                purged += expired.size();
+            }
+        } while (expired.size() == purgeBatchSize);
+        if (purged > 0) {
+            log.info("Purged {} expired OTP entries", purged);
+        }
+    }
+}
@@ -2,107 +2,167 @@ package com.studyGroup.backend.service;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.Random;
+import com.studyGroup.backend.service.OtpStore.Bucket;
+
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
 @Service
 public class OtpService {
 
-    private static final Integer EXPIRE_MINUTES = 5;
-   
-    private static final Integer AUTH_EXPIRE_MINUTES = 30; 
-    
-    private final Cache<String, String> otpCache; 
-    private final Cache<String, Boolean> verifiedEmailCache; 
-    
-    private final Cache<String, Boolean> resetStartedCache;
-    
-   
-    private final Cache<String, Boolean> passwordChangeAuthorizedCache; 
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
 
-    public OtpService() {
-       
-        otpCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(EXPIRE_MINUTES, TimeUnit.MINUTES)
-                .build();
-        verifiedEmailCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(AUTH_EXPIRE_MINUTES, TimeUnit.MINUTES)
-                .build();
-                
-        resetStartedCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(AUTH_EXPIRE_MINUTES, TimeUnit.MINUTES)
-                .build();
-        
-        passwordChangeAuthorizedCache = CacheBuilder.newBuilder()
-                .expireAfterWrite(EXPIRE_MINUTES, TimeUnit.MINUTES)
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${otp.send.coalesce-window:30s}")
+    private Duration coalesceWindow;
+
+    /**
+     * OTPs mailed within the coalescing window, keyed by purpose and email. Guava runs
+     * at most one loader per key, so concurrent requests for the same address wait for
+     * the first one instead of generating and mailing codes of their own.
+     */
+    private Cache<String, String> recentSends;
+
+    private Counter sentCounter;
+
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    void init() {
+        recentSends = CacheBuilder.newBuilder()
+                .maximumSize(100000)
+                .expireAfterWrite(coalesceWindow.toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
                 .build();
+        GuavaCacheMetrics.monitor(meterRegistry, recentSends, "otp.recentSends");
+        sentCounter = Counter.builder("otp.send").tag("result", "sent").register(meterRegistry);
+        coalescedCounter = Counter.builder("otp.send").tag("result", "coalesced").register(meterRegistry);
+    }
+
+    /**
+     * Generates an OTP for the email and hands it to sender, unless one was already sent
+     * for the same purpose within the coalescing window and is still unused. In that case
+     * nothing is sent and the earlier code stays valid. When called inside a transaction,
+     * the window is released again if that transaction rolls back, since the mail it
+     * queued was rolled back with it.
+     *
+     * @return true if a new OTP was generated and sent
+     */
+    public boolean sendOtpCoalesced(String purpose, String email, Consumer<String> sender) {
+        String sendKey = purpose + ":" + email;
+        String recent = recentSends.getIfPresent(sendKey);
+        if (recent != null && !recent.equals(getOtp(email))) {
+            // Redeemed or replaced since it was sent; a resend has to mail a fresh code.
+            recentSends.invalidate(sendKey);
+        }
+
+        // Claim the window before sending rather than sending from a Cache.get loader, which
+        // would hold a monitor (and pin a virtual thread) while the mail is queued.
+        String otp = newOtp();
+        if (recentSends.asMap().putIfAbsent(sendKey, otp) != null) {
+            coalescedCounter.increment();
+            return false;
+        }
+        try {
+            otpStore.put(Bucket.OTP, email, otp);
+            sender.accept(otp);
+        } catch (RuntimeException e) {
+            recentSends.asMap().remove(sendKey, otp);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        recentSends.asMap().remove(sendKey, otp);
+                    }
+                }
+            });
+        }
+        sentCounter.increment();
+        return true;
     }
 
    
     public String generateAndCacheOtp(String key) {
-        String otp = String.format("%06d", new Random().nextInt(999999));
-        otpCache.put(key, otp);
+        String otp = newOtp();
+        otpStore.put(Bucket.OTP, key, otp);
         return otp;
     }
 
+    private static String newOtp() {
+        return String.format("%06d", SECURE_RANDOM.nextInt(1_000_000));
+    }
+
     public String getOtp(String key) {
-        return otpCache.getIfPresent(key);
+        return otpStore.get(Bucket.OTP, key);
     }
 
     public void clearOtp(String key) {
-        otpCache.invalidate(key);
+        otpStore.remove(Bucket.OTP, key);
     }
 
     
     public boolean verifyOtp(String email, String otp) {
-        String cachedOtp = getOtp(email);
-        if (cachedOtp != null && cachedOtp.equals(otp)) {
-            clearOtp(email);
-            return true;
-        }
-        return false;
+        return otpStore.removeIfMatches(Bucket.OTP, email, otp);
     }
     
   
      public void markEmailVerified(String email) {
-        verifiedEmailCache.put(email, true);
+        otpStore.put(Bucket.EMAIL_VERIFIED, email, "true");
      }
 
   
     public boolean isEmailVerified(String email) {
-        return Boolean.TRUE.equals(verifiedEmailCache.getIfPresent(email));
+        return otpStore.get(Bucket.EMAIL_VERIFIED, email) != null;
     }
 
   
     public void clearVerifiedEmail(String email) {
-        verifiedEmailCache.invalidate(email);
+        otpStore.remove(Bucket.EMAIL_VERIFIED, email);
     }
     
     
     public void markResetStarted(String email) {
-        resetStartedCache.put(email, true);
+        otpStore.put(Bucket.RESET_STARTED, email, "true");
     }
     
   
     public boolean isResetStarted(String email) {
-        return Boolean.TRUE.equals(resetStartedCache.getIfPresent(email));
+        return otpStore.get(Bucket.RESET_STARTED, email) != null;
     }
     
     
     public void markPasswordChangeAuthorized(String email) {
-        passwordChangeAuthorizedCache.put(email, true);
-        resetStartedCache.invalidate(email); 
+        otpStore.put(Bucket.PASSWORD_CHANGE_AUTHORIZED, email, "true");
+        otpStore.remove(Bucket.RESET_STARTED, email);
     }
    
     public boolean isPasswordChangeAuthorized(String email) {
-        return Boolean.TRUE.equals(passwordChangeAuthorizedCache.getIfPresent(email));
+        return otpStore.get(Bucket.PASSWORD_CHANGE_AUTHORIZED, email) != null;
     }
     
     
     public void clearPasswordChangeAuthorization(String email) {
-        passwordChangeAuthorizedCache.invalidate(email);
+        otpStore.remove(Bucket.PASSWORD_CHANGE_AUTHORIZED, email);
     }
 }
@@ -0,0 +1,45 @@
+package com.studyGroup.backend.service;
+
+import java.time.Duration;
+
+/**
+ * Storage for the short-lived state behind the registration and password-reset flows.
+ * Every entry lives in a {@link Bucket} and expires after that bucket's TTL.
+ *
+ * InMemoryOtpStore is the default. Set otp.store=jdbc to keep the state in the
+ * database instead, so several instances can serve the same flow.
+ */
+public interface OtpStore {
+
+    void put(Bucket bucket, String key, String value);
+
+    /**
+     * @return the stored value, or null if there is none or it has expired
+     */
+    String get(Bucket bucket, String key);
+
+    void remove(Bucket bucket, String key);
+
+    /**
+     * Removes the entry only if it currently holds the given value. At most one caller
+     * wins for a given entry, so an OTP can't be redeemed twice.
+     */
+    boolean removeIfMatches(Bucket bucket, String key, String value);
+
+    enum Bucket {
+        OTP(Duration.ofMinutes(5)),
+        EMAIL_VERIFIED(Duration.ofMinutes(30)),
+        RESET_STARTED(Duration.ofMinutes(30)),
+        PASSWORD_CHANGE_AUTHORIZED(Duration.ofMinutes(5));
+
+        private final Duration ttl;
+
+        Bucket(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration ttl() {
+            return ttl;
+        }
+    }
+}
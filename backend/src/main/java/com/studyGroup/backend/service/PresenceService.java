@@ -0,0 +1,248 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.studyGroup.backend.dto.GroupEvent;
+import com.studyGroup.backend.dto.PresenceDiff;
+import com.studyGroup.backend.dto.PresenceSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Who is online in each group, fed by STOMP connect, disconnect and client heartbeats
+ * (see StompAuthChannelInterceptor).
+ *
+ * State is a map of groupId to online userId (with a count, since a user may have several
+ * tabs open) plus one small entry per session. Sessions that stop sending frames expire
+ * through a TimingWheel rather than per-session timers. Changes are collected per group
+ * and pushed as one PresenceDiff per tick, so a user flapping within a tick costs at most
+ * one message. All updates go through ConcurrentHashMap operations on a single group or
+ * session; there is no lock across groups.
+ */
+@Service
+public class PresenceService {
+
+    public static final String PRESENCE_SUFFIX = "/presence";
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceService.class);
+
+    // Lazy: this service is used by the STOMP interceptor, which is needed to build the messaging template.
+    @Lazy
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${presence.session-timeout:30s}")
+    private Duration sessionTimeout;
+
+    @Value("${presence.tick:1s}")
+    private Duration tick;
+
+    @Value("${presence.max-sessions:100000}")
+    private int maxSessions;
+
+    private final Map<String, PresenceSession> sessions = new ConcurrentHashMap<>();
+
+    /** groupId -> userId -> number of that user's sessions in the group. */
+    private final Map<Long, Map<Integer, Integer>> online = new ConcurrentHashMap<>();
+
+    /** groupId -> userId -> online? Changes not yet pushed; only touched inside compute on the group key. */
+    private final Map<Long, Map<Integer, Boolean>> pendingDiffs = new ConcurrentHashMap<>();
+
+    private TimingWheel<String> wheel;
+
+    private Counter expired;
+
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimingWheel<>((int) Math.max(1, sessionTimeout.toMillis() / tick.toMillis()));
+        expired = Counter.builder("presence.sessions.expired").register(meterRegistry);
+        rejected = Counter.builder("presence.sessions.rejected").register(meterRegistry);
+        meterRegistry.gauge("presence.sessions", sessions, Map::size);
+    }
+
+    public void connect(String sessionId, Integer userId, Collection<Long> groupIds) {
+        if (sessions.size() >= maxSessions) {
+            rejected.increment();
+            log.warn("Presence not tracked for session {}: {} sessions already tracked", sessionId, maxSessions);
+            return;
+        }
+        PresenceSession session = new PresenceSession(userId);
+        if (sessions.putIfAbsent(sessionId, session) != null) {
+            return;
+        }
+        session.deadline = wheel.touch(sessionId, -1);
+        groupIds.forEach(groupId -> join(session, groupId));
+    }
+
+    /**
+     * Any frame from the client, heartbeats included, keeps the session alive.
+     */
+    public void touch(String sessionId) {
+        PresenceSession session = sessions.get(sessionId);
+        if (session != null) {
+            session.deadline = wheel.touch(sessionId, session.deadline);
+        }
+    }
+
+    public void disconnect(String sessionId) {
+        PresenceSession session = sessions.remove(sessionId);
+        if (session != null) {
+            wheel.remove(sessionId, session.deadline);
+            session.lock.lock();
+            try {
+                session.closed = true;
+                List.copyOf(session.groups).forEach(groupId -> leave(session, groupId));
+            } finally {
+                session.lock.unlock();
+            }
+        }
+    }
+
+    public PresenceSnapshot snapshot(Long groupId) {
+        Map<Integer, Integer> users = online.get(groupId);
+        return new PresenceSnapshot(groupId, users == null ? List.of() : List.copyOf(users.keySet()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupEvent(GroupEvent event) {
+        switch (event.type()) {
+            case MEMBER_JOINED -> forUser(event.userId(), session -> join(session, event.groupId()));
+            case MEMBER_LEFT, MEMBER_REMOVED -> forUser(event.userId(), session -> leave(session, event.groupId()));
+            case GROUP_DELETED -> {
+                sessions.values().forEach(session -> session.groups.remove(event.groupId()));
+                online.remove(event.groupId());
+                pendingDiffs.remove(event.groupId());
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Expires sessions whose slot came due and pushes the diffs collected since the last tick.
+     */
+    @Scheduled(fixedRateString = "${presence.tick:1s}")
+    public void tick() {
+        List<String> due = wheel.advance();
+        long now = wheel.currentTick();
+        for (String sessionId : due) {
+            PresenceSession session = sessions.get(sessionId);
+            if (session != null && session.deadline <= now) {
+                expired.increment();
+                disconnect(sessionId);
+            }
+        }
+
+        for (Long groupId : List.copyOf(pendingDiffs.keySet())) {
+            Map<Integer, Boolean> changes = pendingDiffs.remove(groupId);
+            if (changes == null || changes.isEmpty()) {
+                continue;
+            }
+            List<Integer> cameOnline = new ArrayList<>();
+            List<Integer> wentOffline = new ArrayList<>();
+            changes.forEach((userId, isOnline) -> (isOnline ? cameOnline : wentOffline).add(userId));
+            messagingTemplate.convertAndSend(GroupEventBroadcaster.TOPIC_PREFIX + groupId + PRESENCE_SUFFIX,
+                    new PresenceDiff(groupId, cameOnline, wentOffline));
+        }
+    }
+
+    /**
+     * Join and leave lock only the session itself, so a membership change racing with a
+     * disconnect can't leave the user counted as online. Online/offline transitions are
+     * recorded inside the group's compute, so diffs for a group are recorded in order.
+     */
+    private void join(PresenceSession session, Long groupId) {
+        session.lock.lock();
+        try {
+            if (session.closed || !session.groups.add(groupId)) {
+                return;
+            }
+            online.compute(groupId, (id, users) -> {
+                Map<Integer, Integer> result = users != null ? users : new ConcurrentHashMap<>();
+                if (result.merge(session.userId, 1, Integer::sum) == 1) {
+                    recordChange(groupId, session.userId, true);
+                }
+                return result;
+            });
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private void leave(PresenceSession session, Long groupId) {
+        session.lock.lock();
+        try {
+            if (!session.groups.remove(groupId)) {
+                return;
+            }
+            online.computeIfPresent(groupId, (id, users) -> {
+                if (users.computeIfPresent(session.userId, (userId, count) -> count > 1 ? count - 1 : null) == null) {
+                    recordChange(groupId, session.userId, false);
+                }
+                return users.isEmpty() ? null : users;
+            });
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private void recordChange(Long groupId, Integer userId, boolean isOnline) {
+        pendingDiffs.compute(groupId, (id, changes) -> {
+            Map<Integer, Boolean> result = changes != null ? changes : new HashMap<>();
+            result.put(userId, isOnline);
+            return result;
+        });
+    }
+
+    private void forUser(Long userId, Consumer<PresenceSession> action) {
+        if (userId == null) {
+            return;
+        }
+        sessions.values().stream()
+                .filter(session -> session.userId.longValue() == userId)
+                .forEach(action);
+    }
+
+    private static final class PresenceSession {
+
+        private final Integer userId;
+
+        private final Set<Long> groups = ConcurrentHashMap.newKeySet();
+
+        private volatile long deadline = -1;
+
+        /** Reentrant: disconnect holds it while calling leave. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private boolean closed;
+
+        private PresenceSession(Integer userId) {
+            this.userId = userId;
+        }
+    }
+}
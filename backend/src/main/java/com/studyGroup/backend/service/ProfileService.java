@@ -2,11 +2,13 @@ package com.studyGroup.backend.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studyGroup.backend.dto.ProfileEvent;
 import com.studyGroup.backend.model.Course;
 import com.studyGroup.backend.model.Profile;
 import com.studyGroup.backend.repository.ProfileRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -23,6 +25,9 @@ public class ProfileService {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public Optional<Profile> getProfileByEmail(String email) {
@@ -47,7 +52,7 @@ public class ProfileService {
     /**
      * Helper to deserialize the JSON string of enrolled course IDs into a Java Set.
      */
-    private Set<String> getEnrolledCourseIdsAsSet(Profile profile) throws IOException {
+    Set<String> getEnrolledCourseIdsAsSet(Profile profile) throws IOException {
         String enrolledCoursesJson = profile.getEnrolledCourseIds();
         if (enrolledCoursesJson == null || enrolledCoursesJson.isEmpty() || enrolledCoursesJson.equals("[]")) {
             return new HashSet<>();
@@ -71,7 +76,9 @@ public class ProfileService {
             if (!enrolledCourseIds.contains(courseId)) {
                 enrolledCourseIds.add(courseId);
                 profile.setEnrolledCourseIds(objectMapper.writeValueAsString(enrolledCourseIds));
-                return profileRepository.save(profile);
+                Profile saved = profileRepository.save(profile);
+                eventPublisher.publishEvent(ProfileEvent.of(ProfileEvent.Type.COURSE_ENROLLED, email, courseId, enrolledCourseIds));
+                return saved;
             }
             // Return existing profile if already enrolled
             return profile;
@@ -89,7 +96,9 @@ public class ProfileService {
 
             if (enrolledCourseIds.remove(courseId)) { 
                 profile.setEnrolledCourseIds(objectMapper.writeValueAsString(enrolledCourseIds));
-                return profileRepository.save(profile);
+                Profile saved = profileRepository.save(profile);
+                eventPublisher.publishEvent(ProfileEvent.of(ProfileEvent.Type.COURSE_UNENROLLED, email, courseId, enrolledCourseIds));
+                return saved;
             } else {
                 // Return existing profile if not enrolled in that course
                 return profile;
@@ -0,0 +1,103 @@
+package com.studyGroup.backend.service;
+
+import com.google.common.hash.Hashing;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.studyGroup.backend.dto.TokenPair;
+import com.studyGroup.backend.model.RefreshToken;
+import com.studyGroup.backend.repository.RefreshTokenRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Value("${jwt.refresh.expiration.ms:1209600000}")
+    private long refreshExpirationTime;
+
+    public String issue(String email) {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(null, hash(rawToken), email,
+                Instant.now().plusMillis(refreshExpirationTime), false));
+        return rawToken;
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * Returns empty if the token is unknown or expired. A token that was already used
+     * means it leaked, so all sessions of its owner are revoked. The token is claimed
+     * with a conditional update, so of two requests presenting it at the same time only
+     * one gets a new pair and the other counts as reuse.
+     */
+    @Transactional
+    public Optional<TokenPair> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken refreshToken = stored.get();
+        String email = refreshToken.getUserEmail();
+        if (refreshToken.isUsed()) {
+            revokeAll(email);
+            return Optional.empty();
+        }
+        if (refreshToken.getExpiresAt().isBefore(Instant.now())) {
+            refreshTokenRepository.delete(refreshToken);
+            return Optional.empty();
+        }
+
+        if (refreshTokenRepository.markUsed(refreshToken.getId()) == 0) {
+            revokeAll(email);
+            return Optional.empty();
+        }
+        return Optional.of(new TokenPair(jwtService.generateToken(email), issue(email)));
+    }
+
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(refreshTokenRepository::delete);
+    }
+
+    /**
+     * Ends every session of the user: refresh tokens are deleted and access tokens issued so far are revoked.
+     */
+    public void revokeAll(String email) {
+        refreshTokenRepository.deleteByUserEmail(email);
+        jwtService.revokeAllTokens(email);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteByExpiresAtBefore(Instant.now());
+    }
+
+    private static String hash(String rawToken) {
+        return Hashing.sha256().hashString(rawToken, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -0,0 +1,198 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps up to max-connections authenticated SMTP connections open so each mail doesn't
+ * pay for a new TCP/TLS handshake and AUTH. Connections idle longer than the validation
+ * interval are checked with NOOP before reuse, and connections idle longer than the idle
+ * timeout are closed by a background sweep.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.smtp.pool.max-connections:4}")
+    private int maxConnections;
+
+    @Value("${email.smtp.pool.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${email.smtp.pool.validation-interval:5s}")
+    private Duration validationInterval;
+
+    @Value("${email.smtp.pool.borrow-timeout:10s}")
+    private Duration borrowTimeout;
+
+    /** Most recently used first, so the oldest connections are the ones that idle out. */
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConnections);
+        meterRegistry.gauge("email.smtp.pool.idle", idle, BlockingDeque::size);
+        meterRegistry.gauge("email.smtp.pool.active", this, pool -> pool.maxConnections - pool.permits.availablePermits());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        MessagingException failure = sendBatch(List.of(message)).get(0);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Sends all messages over a single pooled connection.
+     *
+     * @return one entry per message: null if it was accepted, otherwise the failure
+     */
+    public List<MessagingException> sendBatch(List<MimeMessage> messages) throws MessagingException {
+        List<MessagingException> results = new ArrayList<>(messages.size());
+        PooledTransport pooled = borrow();
+        boolean reusable = true;
+        try {
+            for (MimeMessage message : messages) {
+                if (!reusable) {
+                    results.add(new MessagingException("SMTP connection lost earlier in the batch"));
+                    continue;
+                }
+                try {
+                    message.saveChanges();
+                    Address[] recipients = message.getAllRecipients();
+                    pooled.transport.sendMessage(message, recipients);
+                    results.add(null);
+                } catch (SendFailedException e) {
+                    // Rejected recipient; the connection itself is still usable.
+                    results.add(e);
+                } catch (MessagingException e) {
+                    reusable = false;
+                    results.add(e);
+                }
+            }
+        } finally {
+            if (reusable) {
+                release(pooled);
+            } else {
+                destroy(pooled);
+            }
+        }
+        return results;
+    }
+
+    @Scheduled(fixedDelayString = "${email.smtp.pool.eviction-interval-ms:30000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        Iterator<PooledTransport> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (pooled.lastUsedNanos < cutoff && idle.removeLastOccurrence(pooled)) {
+                closeQuietly(pooled);
+            }
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for a pooled SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for a pooled SMTP connection", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (System.nanoTime() - pooled.lastUsedNanos < validationInterval.toNanos()) {
+                    return pooled;
+                }
+                // SMTPTransport.isConnected() sends a NOOP to check the server still talks to us.
+                if (pooled.transport.isConnected()) {
+                    return pooled;
+                }
+                closeQuietly(pooled);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        return new PooledTransport(transport);
+    }
+
+    private void release(PooledTransport pooled) {
+        pooled.lastUsedNanos = System.nanoTime();
+        idle.offerFirst(pooled);
+        permits.release();
+    }
+
+    private void destroy(PooledTransport pooled) {
+        closeQuietly(pooled);
+        permits.release();
+    }
+
+    private void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.studyGroup.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashed timing wheel for expiring keys that are touched often: timeoutTicks + 1 slots,
+ * each a concurrent set of keys due at ticks that map to it. Touching a key moves it to
+ * the slot timeoutTicks ahead of the current tick (and is free if it is already there);
+ * advancing the wheel returns the keys of the next slot, which are exactly the keys that
+ * haven't been touched for timeoutTicks. Cost is O(1) per touch and proportional to the
+ * expired keys per tick, with no per-key timers and no lock across slots.
+ */
+final class TimingWheel<K> {
+
+    private final List<Set<K>> slots;
+
+    private final long timeoutTicks;
+
+    private final AtomicLong tick = new AtomicLong();
+
+    TimingWheel(int timeoutTicks) {
+        this.timeoutTicks = timeoutTicks;
+        this.slots = new ArrayList<>(timeoutTicks + 1);
+        for (int i = 0; i <= timeoutTicks; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    long currentTick() {
+        return tick.get();
+    }
+
+    /**
+     * Schedules key to expire timeoutTicks from now.
+     *
+     * @param previousDeadline the deadline returned by the last touch, or -1 for a new key
+     * @return the new deadline tick, to pass back on the next touch
+     */
+    long touch(K key, long previousDeadline) {
+        long deadline = tick.get() + timeoutTicks;
+        if (deadline != previousDeadline) {
+            slots.get(slot(deadline)).add(key);
+            if (previousDeadline >= 0) {
+                slots.get(slot(previousDeadline)).remove(key);
+            }
+        }
+        return deadline;
+    }
+
+    void remove(K key, long deadline) {
+        if (deadline >= 0) {
+            slots.get(slot(deadline)).remove(key);
+        }
+    }
+
+    /**
+     * Moves to the next tick and empties its slot.
+     *
+     * @return keys that may have expired; callers should confirm against their own deadline,
+     *         since a concurrent touch can leave a stale entry behind
+     */
+    List<K> advance() {
+        Set<K> due = slots.get(slot(tick.incrementAndGet()));
+        List<K> keys = new ArrayList<>(due);
+        keys.forEach(due::remove);
+        return keys;
+    }
+
+    private int slot(long tickNumber) {
+        return (int) (tickNumber % slots.size());
+    }
+}
@@ -0,0 +1,185 @@
+package com.studyGroup.backend.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.studyGroup.backend.model.TokenRevocation;
+import com.studyGroup.backend.repository.TokenRevocationRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked access tokens, persisted in token_revocation and mirrored in memory.
+ *
+ * A Bloom filter sits in front of the in-memory maps: for a token that was never
+ * revoked (the common case) {@link #isRevoked} usually returns after the filter check
+ * alone, without touching the maps or the database. The filter cannot drop entries,
+ * so it is rebuilt from the table at startup and whenever expired rows are purged.
+ *
+ * Revocations recorded by other nodes are picked up by polling the table for new rows
+ * every few seconds. Each poll starts from the newest id seen two polls back rather than
+ * the latest one, so a row whose id was allocated early but committed late is not missed.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Value("${jwt.revocation.expected-insertions:100000}")
+    private int expectedInsertions;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile RevocationIndex index;
+
+    /** Guarded by writeLock. */
+    private long pollFromId;
+
+    /** Guarded by writeLock. */
+    private long newestSeenId;
+
+    /** Serialises writers with rebuilds so a revocation can't be lost in an index swap. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String subject, String tokenId, long issuedAtMillis) {
+        RevocationIndex current = index;
+        if (tokenId != null && current.filter.mightContain(tokenKey(tokenId))
+                && current.revokedTokenIds.containsKey(tokenId)) {
+            return true;
+        }
+        if (subject != null && current.filter.mightContain(subjectKey(subject))) {
+            Long revokedBefore = current.subjectCutoffs.get(subject);
+            return revokedBefore != null && issuedAtMillis <= revokedBefore;
+        }
+        return false;
+    }
+
+    public void revokeToken(String subject, String tokenId, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation(null, subject, tokenId, Instant.now(), expiresAt);
+        record(revocation);
+    }
+
+    /**
+     * Revokes every access token of the subject issued up to now. JWT issue times have
+     * second precision, so the cutoff is the current second and covers all of it: a token
+     * issued later within that second is revoked as well.
+     */
+    public void revokeAllForSubject(String subject, long accessTokenTtlMillis) {
+        Instant now = Instant.now();
+        TokenRevocation revocation = new TokenRevocation(null, subject, null,
+                now.truncatedTo(ChronoUnit.SECONDS), now.plusMillis(accessTokenTtlMillis));
+        record(revocation);
+    }
+
+    private void record(TokenRevocation revocation) {
+        writeLock.lock();
+        try {
+            tokenRevocationRepository.save(revocation);
+            index.add(revocation);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void syncFromDatabase() {
+        writeLock.lock();
+        try {
+            List<TokenRevocation> recent = tokenRevocationRepository.findByIdGreaterThan(pollFromId);
+            RevocationIndex current = index;
+            recent.forEach(current::add);
+            advance(recent);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long purged = tokenRevocationRepository.deleteByExpiresAtBefore(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations", purged);
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        writeLock.lock();
+        try {
+            RevocationIndex fresh = new RevocationIndex(BloomFilter.create(
+                    Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate));
+            List<TokenRevocation> active = tokenRevocationRepository.findByExpiresAtAfter(Instant.now());
+            active.forEach(fresh::add);
+            index = fresh;
+            advance(active);
+            log.info("Loaded {} active token revocations", active.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void advance(List<TokenRevocation> loaded) {
+        pollFromId = newestSeenId;
+        for (TokenRevocation revocation : loaded) {
+            newestSeenId = Math.max(newestSeenId, revocation.getId());
+        }
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "jti:" + tokenId;
+    }
+
+    private static String subjectKey(String subject) {
+        return "sub:" + subject;
+    }
+
+    private static final class RevocationIndex {
+
+        private final BloomFilter<CharSequence> filter;
+
+        private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+
+        private final Map<String, Long> subjectCutoffs = new ConcurrentHashMap<>();
+
+        private RevocationIndex(BloomFilter<CharSequence> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * Maps are written before the filter so a reader that sees the filter bit also sees the entry.
+         */
+        private void add(TokenRevocation revocation) {
+            if (revocation.getTokenId() != null) {
+                revokedTokenIds.put(revocation.getTokenId(), revocation.getExpiresAt().toEpochMilli());
+                filter.put(tokenKey(revocation.getTokenId()));
+            } else {
+                subjectCutoffs.merge(revocation.getSubject(), revocation.getRevokedBefore().toEpochMilli(), Math::max);
+                filter.put(subjectKey(revocation.getSubject()));
+            }
+        }
+    }
+}
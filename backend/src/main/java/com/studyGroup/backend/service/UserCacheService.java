@@ -0,0 +1,111 @@
+package com.studyGroup.backend.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.studyGroup.backend.dto.UserCredentials;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.UsersRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-limited lookups of users by email for the authentication path.
+ * Full User rows (used as the request principal) and the compact credentials
+ * projection (used for password checks) are cached separately.
+ *
+ * Every caller gets its own copy of the cached User, so a request that changes its principal
+ * cannot leak the change into other requests; write paths load a fresh entity from the
+ * repository and call {@link #evict(String)}.
+ */
+@Service
+public class UserCacheService {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${user.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${user.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, User> usersByEmail;
+
+    private Cache<String, UserCredentials> credentialsByEmail;
+
+    @PostConstruct
+    void init() {
+        usersByEmail = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        credentialsByEmail = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        GuavaCacheMetrics.monitor(meterRegistry, usersByEmail, "users.byEmail");
+        GuavaCacheMetrics.monitor(meterRegistry, credentialsByEmail, "users.credentialsByEmail");
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return load(usersByEmail, email, () -> usersRepository.findByEmail(email).orElse(null))
+                .map(UserCacheService::copyOf);
+    }
+
+    public Optional<UserCredentials> findCredentialsByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return load(credentialsByEmail, email, () -> usersRepository.findCredentialsByEmail(email).orElse(null));
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        usersByEmail.invalidate(email);
+        credentialsByEmail.invalidate(email);
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        BeanUtils.copyProperties(user, copy);
+        return copy;
+    }
+
+    /**
+     * Looks up with getIfPresent (recorded as a hit or miss) and loads outside the cache:
+     * Cache.get(key, loader) runs the query while holding a monitor, which pins a virtual
+     * thread to its carrier for the whole round trip. Unknown emails are not cached.
+     */
+    private static <V> Optional<V> load(Cache<String, V> cache, String email, Supplier<V> loader) {
+        V cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        V loaded = loader.get();
+        if (loaded != null) {
+            cache.put(email, loaded);
+        }
+        return Optional.ofNullable(loaded);
+    }
+}
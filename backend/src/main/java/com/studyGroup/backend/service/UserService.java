@@ -1,18 +1,21 @@
 package com.studyGroup.backend.service;
 
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.studyGroup.backend.config.AuthenticatedUser;
+import com.studyGroup.backend.dto.UserCredentials;
 import com.studyGroup.backend.model.Profile;
 import com.studyGroup.backend.model.User;
 import com.studyGroup.backend.repository.ProfileRepository;
 import com.studyGroup.backend.repository.UsersRepository;
 
-import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -27,28 +30,35 @@ public class UserService implements UserDetailsService {
 
     @Autowired
     private EmailService emailService;
+
+    @Autowired
+    private OtpService otpService;
     
     @Autowired
     private JWTService jwtService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> userOptional = usersRepository.findByEmail(username);
+        Optional<User> userOptional = userCacheService.findByEmail(username);
         if (userOptional.isEmpty()) {
             throw new UsernameNotFoundException("User not found with email: " + username);
         }
-        User user = userOptional.get();
-        
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), new ArrayList<>());
+        return new AuthenticatedUser(userOptional.get());
     }
     
     
     public Optional<User> getUserByEmail(String email) {
-        return usersRepository.findByEmail(email);
+        return userCacheService.findByEmail(email);
     }
 
     public boolean userExists(String email) {
@@ -59,8 +69,9 @@ public class UserService implements UserDetailsService {
         if (usersRepository.existsByEmail(user.getEmail())) {
             return "401::Email Id already exists";
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         usersRepository.save(user);
+        userCacheService.evict(user.getEmail());
 
         Profile profile = new Profile();
         profile.setEmail(user.getEmail());
@@ -71,12 +82,38 @@ public class UserService implements UserDetailsService {
     }
 
  
-    public String validateCredentials(String email, String password) {
-        Optional<User> userOptional = usersRepository.findByEmail(email);
+    /**
+     * Generates a registration OTP and queues the email in the same transaction.
+     * Repeated requests within the coalescing window reuse the code already sent.
+     */
+    @Transactional
+    public void sendRegistrationOtp(String email, String name, Locale locale) {
+        otpService.sendOtpCoalesced("register", email, otp -> emailService.queueTemplatedEmail(email,
+                "registration-otp", locale, Map.of("name", name, "otp", otp)));
+    }
 
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
+    /**
+     * Generates a password-reset OTP, queues the email and opens the reset window.
+     * Repeated requests within the coalescing window reuse the code already sent.
+     */
+    @Transactional
+    public void sendPasswordResetOtp(User user, Locale locale) {
+        String email = user.getEmail();
+        String userName = Optional.ofNullable(user.getName()).orElse("there");
+        otpService.sendOtpCoalesced("reset", email, otp -> emailService.queueTemplatedEmail(email,
+                "password-reset-otp", locale, Map.of("name", userName, "otp", otp)));
+        otpService.markResetStarted(email);
+    }
+
+    public String validateCredentials(String email, String password) {
+        Optional<UserCredentials> credentialsOptional = userCacheService.findCredentialsByEmail(email);
+
+        if (credentialsOptional.isPresent()) {
+            UserCredentials credentials = credentialsOptional.get();
+            if (passwordHashingService.matches(password, credentials.password())) {
+                if (passwordHashingService.needsRehash(credentials.password())) {
+                    rehashInBackground(credentials, password);
+                }
                 String token = jwtService.generateToken(email);
                 return "200::" + token;
             } else {
@@ -87,12 +124,26 @@ public class UserService implements UserDetailsService {
     }
 
     
+    /**
+     * Re-encodes a hash created with an older BCrypt cost after a successful sign-in,
+     * while the plain-text password is still at hand. The new hash is written only over
+     * the one that was verified, so a password changed or reset in the meantime is kept.
+     */
+    private void rehashInBackground(UserCredentials credentials, String rawPassword) {
+        passwordHashingService.submitInBackground(() -> {
+            String newHash = passwordHashingService.encodeOnCurrentThread(rawPassword);
+            if (usersRepository.updatePasswordIfUnchanged(credentials.id(), credentials.password(), newHash) > 0) {
+                userCacheService.evict(credentials.email());
+            }
+        });
+    }
+
     public User getUserProfile(String token) {
         String email = jwtService.validateToken(token);
         if ("401".equals(email)) {
             return null;
         }
-        return usersRepository.findByEmail(email).orElse(null);
+        return userCacheService.findByEmail(email).orElse(null);
     }
     
     
@@ -112,16 +163,17 @@ public class UserService implements UserDetailsService {
           
             existingUser.setUniversityGpa(userDetails.getUniversityGpa());
 
-            return usersRepository.save(existingUser);
+            User savedUser = usersRepository.save(existingUser);
+            userCacheService.evict(email);
+            return savedUser;
         }
         return null;
     }
 
     public boolean verifyPassword(String email, String currentPassword) {
-        Optional<User> userOptional = usersRepository.findByEmail(email);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            return passwordEncoder.matches(currentPassword, user.getPassword());
+        Optional<UserCredentials> credentialsOptional = userCacheService.findCredentialsByEmail(email);
+        if (credentialsOptional.isPresent()) {
+            return passwordHashingService.matches(currentPassword, credentialsOptional.get().password());
         }
         return false;
     }
@@ -130,8 +182,10 @@ public class UserService implements UserDetailsService {
         Optional<User> userOptional = usersRepository.findByEmail(email);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            user.setPassword(passwordEncoder.encode(newPassword));
+            user.setPassword(passwordHashingService.encode(newPassword));
             usersRepository.save(user);
+            userCacheService.evict(email);
+            refreshTokenService.revokeAll(email);
         } else {
             throw new UsernameNotFoundException("User not found with email: " + email);
         }
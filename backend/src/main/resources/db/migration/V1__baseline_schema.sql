@@ -0,0 +1,73 @@
+-- The schema as Hibernate's ddl-auto=update created it before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-version=1) and skip it.
+
+create table course (
+    course_id varchar(255) not null,
+    course_name varchar(255),
+    description varchar(255),
+    primary key (course_id)
+) engine=InnoDB;
+
+create table user (
+    id integer not null auto_increment,
+    name varchar(255),
+    email varchar(255) not null,
+    role integer,
+    password varchar(255),
+    secondary_school varchar(255),
+    secondary_school_passing_year integer,
+    secondary_school_percentage float(53),
+    higher_secondary_school varchar(255),
+    higher_secondary_passing_year integer,
+    higher_secondary_percentage float(53),
+    university_name varchar(255),
+    university_passing_year integer,
+    university_gpa float(53),
+    primary key (id),
+    constraint uk_user_email unique (email)
+) engine=InnoDB;
+
+create table profile (
+    email varchar(255) not null,
+    fullname varchar(255),
+    profile_pic_url LONGTEXT,
+    phone varchar(255),
+    github_url varchar(255),
+    linkedin_url varchar(255),
+    about_me VARCHAR(2000),
+    enrolled_course_ids TEXT,
+    primary key (email)
+) engine=InnoDB;
+
+create table study_group (
+    group_id bigint not null auto_increment,
+    name varchar(255),
+    description TEXT,
+    associated_course_id varchar(255) not null,
+    created_by_userid integer not null,
+    privacy varchar(255),
+    passkey varchar(255),
+    member_limit integer,
+    primary key (group_id),
+    constraint fk_study_group_course foreign key (associated_course_id) references course (course_id),
+    constraint fk_study_group_created_by foreign key (created_by_userid) references user (id)
+) engine=InnoDB;
+
+create table group_member (
+    user_id integer not null,
+    group_id bigint not null,
+    role varchar(255),
+    primary key (user_id, group_id),
+    constraint fk_group_member_group foreign key (group_id) references study_group (group_id),
+    constraint fk_group_member_user foreign key (user_id) references user (id)
+) engine=InnoDB;
+
+create table group_join_request (
+    id bigint not null auto_increment,
+    group_id bigint not null,
+    user_id integer not null,
+    status varchar(255) not null,
+    primary key (id),
+    constraint fk_group_join_request_group foreign key (group_id) references study_group (group_id),
+    constraint fk_group_join_request_user foreign key (user_id) references user (id)
+) engine=InnoDB;
@@ -0,0 +1,67 @@
+-- Tables for group chat, the email outbox, shared OTP state, refresh tokens and access-token
+-- revocations. They are new since the V1 schema, so databases baselined at V1 get them here.
+
+create table chat_message (
+    id bigint not null,
+    group_id bigint not null,
+    sender_id integer not null,
+    sender_name varchar(255),
+    content varchar(2000) not null,
+    sent_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_chat_message_group_id on chat_message (group_id, id);
+
+create table email_outbox (
+    id bigint not null auto_increment,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body TEXT not null,
+    html_body TEXT,
+    status varchar(16) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(1000),
+    created_at datetime(6) not null,
+    sent_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
+
+create table otp_entry (
+    bucket varchar(32) not null,
+    entry_key varchar(255) not null,
+    entry_value varchar(255) not null,
+    expires_at datetime(6) not null,
+    primary key (bucket, entry_key)
+) engine=InnoDB;
+
+create index idx_otp_entry_expires_at on otp_entry (expires_at);
+
+create table refresh_token (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    user_email varchar(255) not null,
+    expires_at datetime(6) not null,
+    used bit not null,
+    primary key (id),
+    constraint uk_refresh_token_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_refresh_token_user_email on refresh_token (user_email);
+
+-- Expired refresh tokens, deleted by the purge job.
+create index idx_refresh_token_expires_at on refresh_token (expires_at);
+
+create table token_revocation (
+    id bigint not null auto_increment,
+    subject varchar(255) not null,
+    token_id varchar(255),
+    revoked_before datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_token_revocation_expires_at on token_revocation (expires_at);
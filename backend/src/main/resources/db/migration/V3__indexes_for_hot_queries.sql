@@ -0,0 +1,11 @@
+-- Indexes for the membership and join-request queries.
+
+-- Memberships by group (member lists and counts). Memberships by user are served by the
+-- primary key, which leads with user_id.
+create index idx_group_member_group_user on group_member (group_id, user_id, role);
+
+-- Pending requests of a group, and "has this user already asked to join".
+create index idx_group_join_request_group_status_user on group_join_request (group_id, status, user_id);
+
+-- Privacy values are stored lower-case from now on.
+update study_group set privacy = lower(privacy) where privacy <> lower(privacy);
@@ -0,0 +1,77 @@
+package com.studyGroup.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * On Java 21 a virtual thread that blocks while holding a monitor pins its carrier thread,
+ * so application code uses java.util.concurrent locks instead of synchronized. This reads the
+ * compiled application classes and fails on any synchronized method or block.
+ */
+class NoMonitorPinningTest {
+
+    @Test
+    void applicationClassesHoldNoMonitors() throws Exception {
+        Resource[] classes = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:com/studyGroup/backend/**/*.class");
+        List<String> offenders = new ArrayList<>();
+        int scanned = 0;
+        for (Resource resource : classes) {
+            if (resource.getURL().toString().contains("/test-classes/")) {
+                continue;
+            }
+            scanned++;
+            try (InputStream in = resource.getInputStream()) {
+                new ClassReader(in).accept(new MonitorFinder(offenders), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+            }
+        }
+
+        assertTrue(scanned > 50, "application classes not found on the classpath");
+        assertEquals(List.of(), offenders, "synchronized pins virtual threads; use a ReentrantLock");
+    }
+
+    private static final class MonitorFinder extends ClassVisitor {
+
+        private final List<String> offenders;
+
+        private String className;
+
+        MonitorFinder(List<String> offenders) {
+            super(Opcodes.ASM9);
+            this.offenders = offenders;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            className = name.replace('/', '.');
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String method = className + "." + name;
+            if ((access & Opcodes.ACC_SYNCHRONIZED) != 0) {
+                offenders.add(method + " (synchronized method)");
+            }
+            return new MethodVisitor(Opcodes.ASM9) {
+                @Override
+                public void visitInsn(int opcode) {
+                    if (opcode == Opcodes.MONITORENTER) {
+                        offenders.add(method + " (synchronized block)");
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.studyGroup.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.model.Profile;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.ProfileRepository;
+import com.studyGroup.backend.repository.UsersRepository;
+import com.studyGroup.backend.service.GroupService;
+
+import java.util.UUID;
+
+/**
+ * Users and groups for integration tests. Picked up by component scanning, so any
+ * {@code @SpringBootTest} can autowire it. Names and emails get a random suffix, so
+ * tests sharing a context don't collide.
+ */
+@Component
+public class TestFixtures {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private GroupService groupService;
+
+    /** A user without a profile. */
+    public User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-used");
+        return usersRepository.save(user);
+    }
+
+    /** A user with a profile enrolled in the given courses, a JSON array such as ["CS101"]. */
+    public User saveUser(String name, String enrolledCourseIds) {
+        User user = saveUser(name);
+        Profile profile = new Profile();
+        profile.setEmail(user.getEmail());
+        profile.setAboutMe("About " + name);
+        profile.setEnrolledCourseIds(enrolledCourseIds);
+        profileRepository.save(profile);
+        return user;
+    }
+
+    /** A group of up to 50 members created by the user, who becomes its Admin. */
+    public GroupDTO createGroup(User user, String courseId, String privacy) {
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("Group " + UUID.randomUUID());
+        request.setDescription("Study group");
+        request.setAssociatedCourseId(courseId);
+        request.setPrivacy(privacy);
+        request.setMemberLimit(50);
+        return groupService.createGroup(request, user);
+    }
+}
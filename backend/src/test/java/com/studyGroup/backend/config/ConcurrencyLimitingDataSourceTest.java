@@ -0,0 +1,82 @@
+package com.studyGroup.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitingDataSourceTest {
+
+    private static DataSource pool() throws Exception {
+        DataSource pool = Mockito.mock(DataSource.class);
+        Mockito.when(pool.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        return pool;
+    }
+
+    @Test
+    void closingAConnectionReturnsItsPermitOnce() throws Exception {
+        ConcurrencyLimitingDataSource limiter = new ConcurrencyLimitingDataSource(pool(), 2, 10, Duration.ofMillis(50));
+
+        Connection first = limiter.getConnection();
+        Connection second = limiter.getConnection();
+        assertEquals(2, limiter.getInUse());
+        assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, limiter.getInUse());
+        limiter.getConnection();
+        second.close();
+        assertEquals(1, limiter.getInUse());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void waitersBeyondTheLimitFailImmediately() throws Exception {
+        ConcurrencyLimitingDataSource limiter = new ConcurrencyLimitingDataSource(pool(), 1, 1, Duration.ofSeconds(5));
+        Connection held = limiter.getConnection();
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch waiting = new CountDownLatch(1);
+            Future<Connection> queued = threads.submit(() -> {
+                waiting.countDown();
+                return limiter.getConnection();
+            });
+            waiting.await();
+            while (limiter.getWaiting() == 0) {
+                Thread.onSpinWait();
+            }
+
+            long start = System.nanoTime();
+            assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+            held.close();
+            queued.get(5, TimeUnit.SECONDS).close();
+        }
+        assertEquals(0, limiter.getInUse());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    void aFailedPoolCallReleasesThePermit() throws Exception {
+        DataSource pool = Mockito.mock(DataSource.class);
+        Mockito.when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+        ConcurrencyLimitingDataSource limiter = new ConcurrencyLimitingDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        assertThrows(SQLTransientConnectionException.class, limiter::getConnection);
+        assertEquals(0, limiter.getInUse());
+    }
+}
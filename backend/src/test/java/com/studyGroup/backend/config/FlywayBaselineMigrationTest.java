@@ -0,0 +1,46 @@
+package com.studyGroup.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A database created by ddl-auto before migrations existed has the V1 schema and no
+ * history table. With the production settings it is baselined at V1 and must end up with
+ * every later table and index.
+ */
+class FlywayBaselineMigrationTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void aDatabaseBaselinedAtV1GetsTheLaterTables() {
+        DataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // The pre-migration schema: V1 applied, then the history forgotten.
+        Flyway.configure().dataSource(dataSource).target("1").load().migrate();
+        jdbc.execute("DROP TABLE \"flyway_schema_history\"");
+        assertEquals(Set.of("course", "user", "profile", "study_group", "group_member", "group_join_request"),
+                Set.copyOf(jdbc.queryForList(
+                        "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'", String.class)));
+
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        for (String table : List.of("chat_message", "email_outbox", "otp_entry", "refresh_token", "token_revocation")) {
+            assertEquals(1, jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = ?", Integer.class, table), table);
+        }
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_refresh_token_expires_at'",
+                Integer.class));
+    }
+}
@@ -0,0 +1,315 @@
+package com.studyGroup.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.studyGroup.backend.TestFixtures;
+import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.GroupMember;
+import com.studyGroup.backend.model.GroupMemberId;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.repository.GroupMemberRepository;
+import com.studyGroup.backend.repository.GroupRepository;
+import com.studyGroup.backend.service.ChatService;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.JWTService;
+import com.studyGroup.backend.service.PresenceService;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class GroupEventWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    private WebSocketStompClient stompClient;
+
+    private User admin;
+
+    private User applicant;
+
+    private Long groupId;
+
+    @BeforeEach
+    void setUp() {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+        courseRepository.save(new Course("CS101", "Intro to CS", "Basics"));
+        admin = fixtures.saveUser("admin");
+        applicant = fixtures.saveUser("applicant");
+
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("Algorithms");
+        request.setDescription("Weekly problem sets");
+        request.setAssociatedCourseId("CS101");
+        request.setPrivacy("private");
+        request.setMemberLimit(10);
+        GroupDTO group = groupService.createGroup(request, admin);
+        groupId = group.getGroupId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    void adminReceivesJoinRequestsAndMembersSeeApprovals() throws Exception {
+        StompSession session = connect(admin);
+        BlockingQueue<Map<String, Object>> adminEvents = subscribe(session, "/topic/groups/" + groupId + "/admin");
+        BlockingQueue<Map<String, Object>> memberEvents = subscribe(session, "/topic/groups/" + groupId);
+        Thread.sleep(300);
+
+        groupService.joinGroup(groupId, applicant, null);
+        Map<String, Object> created = adminEvents.poll(5, TimeUnit.SECONDS);
+        assertNotNull(created);
+        assertEquals("JOIN_REQUEST_CREATED", created.get("type"));
+        assertEquals(applicant.getName(), created.get("userName"));
+
+        Long requestId = ((Number) created.get("requestId")).longValue();
+        groupService.handleJoinRequest(groupId, requestId, "APPROVED", admin);
+        assertEquals("JOIN_REQUEST_APPROVED", adminEvents.poll(5, TimeUnit.SECONDS).get("type"));
+        Map<String, Object> joined = memberEvents.poll(5, TimeUnit.SECONDS);
+        assertNotNull(joined);
+        assertEquals("MEMBER_JOINED", joined.get("type"));
+        assertNull(memberEvents.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void membersChatOverTheGroupTopic() throws Exception {
+        StompSession session = connect(admin);
+        BlockingQueue<Map<String, Object>> chat = subscribe(session, "/topic/groups/" + groupId + "/chat");
+        Thread.sleep(300);
+
+        session.send("/app/groups/" + groupId + "/chat", Map.of("content", "Hello group"));
+        Map<String, Object> message = chat.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("Hello group", message.get("content"));
+        assertEquals(admin.getName(), message.get("senderName"));
+        assertEquals("Hello group", chatService.history(groupId, null, 10).get(0).content());
+    }
+
+    @Test
+    void creatorCanUseANewGroupWithoutReconnecting() throws Exception {
+        StompSession session = connect(admin);
+        Thread.sleep(300);
+
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("Graphs");
+        request.setDescription("Created while connected");
+        request.setAssociatedCourseId("CS101");
+        request.setPrivacy("private");
+        request.setMemberLimit(10);
+        Long newGroupId = groupService.createGroup(request, admin).getGroupId();
+
+        BlockingQueue<Map<String, Object>> adminEvents = subscribe(session, "/topic/groups/" + newGroupId + "/admin");
+        BlockingQueue<Map<String, Object>> chat = subscribe(session, "/topic/groups/" + newGroupId + "/chat");
+        Thread.sleep(300);
+        assertTrue(session.isConnected());
+        assertEquals(List.of(admin.getId()), presenceService.snapshot(newGroupId).online());
+
+        session.send("/app/groups/" + newGroupId + "/chat", Map.of("content", "First!"));
+        Map<String, Object> message = chat.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message);
+        assertEquals("First!", message.get("content"));
+
+        groupService.joinGroup(newGroupId, applicant, null);
+        Map<String, Object> joinRequest = adminEvents.poll(5, TimeUnit.SECONDS);
+        assertNotNull(joinRequest);
+        assertEquals("JOIN_REQUEST_CREATED", joinRequest.get("type"));
+    }
+
+    @Test
+    void connectWithoutTokenIsRejected() {
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> stompClient
+                .connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {
+                })
+                .get(5, TimeUnit.SECONDS));
+        assertNotNull(failure.getCause());
+    }
+
+    @Test
+    void nonMemberCannotSubscribe() throws Exception {
+        CompletableFuture<String> error = new CompletableFuture<>();
+        StompSession session = connect(applicant, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                error.complete(headers.getFirst("message"));
+            }
+
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                error.complete(exception.getMessage());
+            }
+        });
+        session.subscribe("/topic/groups/" + groupId, new StompSessionHandlerAdapter() {
+        });
+
+        assertNotNull(error.get(5, TimeUnit.SECONDS));
+        assertTrue(waitForDisconnect(session));
+    }
+
+    @Test
+    void membershipChangesMadeThroughAnotherNodeAreSeen() throws Exception {
+        CompletableFuture<String> error = new CompletableFuture<>();
+        StompSession session = connect(applicant, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                error.complete(headers.getFirst("message"));
+            }
+
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                error.complete(exception.getMessage());
+            }
+        });
+
+        // Written straight to the table, so no GroupEvent reaches this node.
+        GroupMember membership = new GroupMember(new GroupMemberId(groupId, applicant.getId()),
+                groupRepository.findById(groupId).orElseThrow(), applicant, "Member");
+        groupMemberRepository.save(membership);
+        stompAuthChannelInterceptor.refreshMemberships();
+
+        BlockingQueue<Map<String, Object>> chat = subscribe(session, "/topic/groups/" + groupId + "/chat");
+        Thread.sleep(300);
+        chatService.post(groupId, admin, "Welcome");
+        Map<String, Object> welcome = chat.poll(5, TimeUnit.SECONDS);
+        assertNotNull(welcome);
+        assertEquals("Welcome", welcome.get("content"));
+
+        groupMemberRepository.delete(membership);
+        stompAuthChannelInterceptor.refreshMemberships();
+        chatService.post(groupId, admin, "Members only");
+        assertNull(chat.poll(500, TimeUnit.MILLISECONDS));
+
+        session.send("/app/groups/" + groupId + "/chat", Map.of("content", "Still a member?"));
+        assertNotNull(error.get(5, TimeUnit.SECONDS));
+        assertTrue(waitForDisconnect(session));
+    }
+
+    @Test
+    void sessionIsClosedOnceItsTokenIsRevoked() throws Exception {
+        String token = jwtService.generateToken(admin.getEmail());
+        CompletableFuture<String> error = new CompletableFuture<>();
+        StompSession session = connect(token, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                error.complete(headers.getFirst("message"));
+            }
+
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                error.complete(exception.getMessage());
+            }
+        });
+        BlockingQueue<Map<String, Object>> chat = subscribe(session, "/topic/groups/" + groupId + "/chat");
+        Thread.sleep(300);
+
+        jwtService.revokeToken(token);
+        chatService.post(groupId, admin, "Sent after logout");
+        assertNull(chat.poll(500, TimeUnit.MILLISECONDS));
+
+        session.send("/app/groups/" + groupId + "/chat", Map.of("content", "Still here?"));
+        assertNotNull(error.get(5, TimeUnit.SECONDS));
+        assertTrue(waitForDisconnect(session));
+    }
+
+    private StompSession connect(User user) throws Exception {
+        return connect(user, new StompSessionHandlerAdapter() {
+        });
+    }
+
+    private StompSession connect(User user, StompSessionHandlerAdapter handler) throws Exception {
+        return connect(jwtService.generateToken(user.getEmail()), handler);
+    }
+
+    private StompSession connect(String token, StompSessionHandlerAdapter handler) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), connectHeaders, handler)
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private BlockingQueue<Map<String, Object>> subscribe(StompSession session, String destination) {
+        BlockingQueue<Map<String, Object>> events = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleFrame(StompHeaders headers, Object payload) {
+                events.add((Map<String, Object>) payload);
+            }
+        });
+        return events;
+    }
+
+    private static boolean waitForDisconnect(StompSession session) throws InterruptedException {
+        for (int i = 0; i < 50 && session.isConnected(); i++) {
+            Thread.sleep(100);
+        }
+        return !session.isConnected();
+    }
+}
@@ -0,0 +1,134 @@
+package com.studyGroup.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private static final String PATH = "/api/users/register/send-otp";
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPath(PATH);
+        route.setCapacity(1);
+        route.setRefillPerMinute(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "properties", properties);
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        filter.init();
+    }
+
+    @Test
+    void emailLimitAppliesToChunkedBodies() throws Exception {
+        // Different client IPs, so only the per-email bucket can stop the second request.
+        MockFilterChain first = new MockFilterChain();
+        assertEquals(200, send(chunked("{\"email\":\"a@example.com\"}", "10.0.0.1"), first).getStatus());
+        assertNotNull(first.getRequest());
+        assertEquals("{\"email\":\"a@example.com\"}",
+                new String(first.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        MockFilterChain second = new MockFilterChain();
+        assertEquals(429, send(chunked("{\"email\":\"A@example.com\"}", "10.0.0.2"), second).getStatus());
+        assertNull(second.getRequest());
+    }
+
+    @Test
+    void bodiesOverTheCapAreRejected() throws Exception {
+        String padded = "{\"email\":\"b@example.com\",\"pad\":\"" + "x".repeat(16 * 1024) + "\"}";
+
+        MockFilterChain declared = new MockFilterChain();
+        MockHttpServletRequest withLength = request("10.0.0.3");
+        withLength.setContent(padded.getBytes(StandardCharsets.UTF_8));
+        assertEquals(413, send(withLength, declared).getStatus());
+        assertNull(declared.getRequest());
+
+        MockFilterChain undeclared = new MockFilterChain();
+        assertEquals(413, send(chunked(padded, "10.0.0.4"), undeclared).getStatus());
+        assertNull(undeclared.getRequest());
+    }
+
+    @Test
+    void cachedBodyCanBeReadThroughAReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        send(chunked("{\"email\":\"c@example.com\"}", "10.0.0.5"), chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allRead = new AtomicBoolean();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertTrue(allRead.get());
+        assertEquals("{\"email\":\"c@example.com\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /** A request whose body arrives without a Content-Length, as with chunked transfer encoding. */
+    private static MockHttpServletRequest chunked(String body, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setRemoteAddr(remoteAddr);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", PATH);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
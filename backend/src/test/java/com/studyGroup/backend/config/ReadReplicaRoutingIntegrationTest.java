@@ -0,0 +1,161 @@
+package com.studyGroup.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.studyGroup.backend.TestFixtures;
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.JWTService;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Primary and replica are two embedded H2 databases. replicate() copies the primary into
+ * the replica, so anything written after it stands in for replication lag.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;" + ReadReplicaRoutingIntegrationTest.H2_OPTIONS,
+        "db.replica.enabled=true",
+        "db.replica.url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "db.replica.username=sa",
+        "db.replica.password=",
+        "db.replica.hikari.maximum-pool-size=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    static final String H2_OPTIONS = "MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;" + H2_OPTIONS;
+
+    @TempDir
+    static Path snapshots;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final Map<String, String> tokens = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.save(new Course("CS101", "Intro to CS", "Basics"));
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplicaAndWritesGoToThePrimary() {
+        User owner = fixtures.saveUser("owner", "[\"CS101\"]");
+        String replicated = fixtures.createGroup(owner, "CS101", "public").getName();
+        replicate();
+        String lagging = fixtures.createGroup(owner, "CS101", "public").getName();
+
+        ReadWriteRoutingDataSource routing = routing();
+        long replicaReads = routing.getReplicaReads();
+        List<String> fromReplica = names(groupService.getAllGroups());
+        assertTrue(fromReplica.contains(replicated));
+        assertFalse(fromReplica.contains(lagging));
+        assertTrue(routing.getReplicaReads() > replicaReads);
+
+        try (PrimaryReads primary = PrimaryReads.open()) {
+            assertTrue(names(groupService.getAllGroups()).contains(lagging));
+        }
+        // The write went to the primary only.
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM study_group WHERE name = ?", Integer.class, lagging));
+        assertEquals(0, replica().queryForObject("SELECT COUNT(*) FROM study_group WHERE name = ?", Integer.class, lagging));
+    }
+
+    @Test
+    void aClientReadsItsOwnWritesFromThePrimary() throws Exception {
+        User owner = fixtures.saveUser("owner", "[\"CS101\"]");
+        User joiner = fixtures.saveUser("joiner", "[\"CS101\"]");
+        Long groupId = fixtures.createGroup(owner, "CS101", "public").getGroupId();
+        replicate();
+
+        assertEquals(200, status(post("/api/groups/join/" + groupId), joiner));
+
+        // The joiner's next read sees the membership; the replica does not have it yet.
+        MvcResult asJoiner = perform(get("/api/groups/" + groupId + "/members"), joiner);
+        assertEquals(200, asJoiner.getResponse().getStatus());
+        assertTrue(asJoiner.getResponse().getContentAsString().contains(joiner.getEmail()));
+
+        MvcResult asOwner = perform(get("/api/groups/" + groupId + "/members"), owner);
+        assertEquals(200, asOwner.getResponse().getStatus());
+        assertFalse(asOwner.getResponse().getContentAsString().contains(joiner.getEmail()));
+    }
+
+    private ReadWriteRoutingDataSource routing() {
+        try {
+            return dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        } catch (Exception e) {
+            throw new AssertionError("ReadWriteRoutingDataSource is not installed", e);
+        }
+    }
+
+    /** Copies the primary (schema and data) over the replica. */
+    private void replicate() {
+        String script = snapshots.resolve(UUID.randomUUID() + ".sql").toString();
+        jdbcTemplate.execute("SCRIPT DROP TO '" + script + "'");
+        replica().execute("RUNSCRIPT FROM '" + script + "'");
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+
+    private int status(MockHttpServletRequestBuilder request, User user) throws Exception {
+        return perform(request, user).getResponse().getStatus();
+    }
+
+    /** Each user keeps one token, as a client would; read-your-writes is tracked per Authorization header. */
+    private MvcResult perform(MockHttpServletRequestBuilder request, User user) throws Exception {
+        String token = tokens.computeIfAbsent(user.getEmail(), jwtService::generateToken);
+        return mockMvc.perform(request.header("Authorization", "Bearer " + token)).andReturn();
+    }
+
+    private static List<String> names(List<GroupDTO> groups) {
+        return groups.stream().map(GroupDTO::getName).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.studyGroup.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.Profile;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.repository.ProfileRepository;
+import com.studyGroup.backend.repository.UsersRepository;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.JWTService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "db.slow-query.threshold=0ms")
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+class RequestQueryStatsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void recordsHibernateWorkPerRouteAndExposesHistograms() throws Exception {
+        courseRepository.save(new Course("CS101", "Intro to CS", "Basics"));
+        User user = new User();
+        user.setName("metrics");
+        user.setEmail("metrics-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-used");
+        user = usersRepository.save(user);
+        Profile profile = new Profile();
+        profile.setEmail(user.getEmail());
+        profile.setEnrolledCourseIds("[\"CS101\"]");
+        profileRepository.save(profile);
+
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("Metrics");
+        request.setDescription("Group for metrics");
+        request.setAssociatedCourseId("CS101");
+        request.setPrivacy("public");
+        request.setMemberLimit(5);
+        groupService.createGroup(request, user);
+
+        String token = jwtService.generateToken(user.getEmail());
+        assertEquals(200, get(port, "/api/dashboard", token).statusCode());
+
+        DistributionSummary statements = meterRegistry.find("db.request.statements")
+                .tags("method", "GET", "uri", "/api/dashboard").summary();
+        assertNotNull(statements);
+        assertEquals(1, statements.count());
+        assertTrue(statements.totalAmount() > 0);
+        assertTrue(meterRegistry.get("db.request.entity.loads").tags("uri", "/api/dashboard").summary().totalAmount() > 0);
+        assertTrue(meterRegistry.get("db.slow-queries").counter().count() > 0);
+
+        // The scrape needs no user token, and it is served on the management port only.
+        HttpResponse<String> scrape = get(managementPort, "/actuator/prometheus", null);
+        assertEquals(200, scrape.statusCode());
+        assertTrue(scrape.body().contains("http_server_requests_seconds_bucket"));
+        assertTrue(scrape.body().contains("hibernate_statements_total"));
+        assertTrue(scrape.body().contains("hikaricp_connections_acquire_seconds_bucket"));
+        assertTrue(scrape.body().contains("cache_gets_total{cache=\"jwt.verifiedTokens\""));
+
+        assertNotEquals(200, get(port, "/actuator/prometheus", token).statusCode());
+        assertNotEquals(200, get(managementPort, "/actuator/metrics", token).statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
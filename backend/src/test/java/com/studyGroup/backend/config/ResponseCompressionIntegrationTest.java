@@ -0,0 +1,153 @@
+package com.studyGroup.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studyGroup.backend.TestFixtures;
+import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.JWTService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionIntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 50; i++) {
+            course = courseRepository.save(new Course("GZ" + UUID.randomUUID(), "Course " + i, "A course long enough to add up"));
+        }
+    }
+
+    @Test
+    void largeResponsesAreGzippedAndSmallOnesAreNot() throws Exception {
+        HttpResponse<byte[]> catalogue = get("/api/courses", null, true);
+        assertEquals(200, catalogue.statusCode());
+        assertEquals(Optional.of("gzip"), catalogue.headers().firstValue("Content-Encoding"));
+        JsonNode courses = objectMapper.readTree(gunzip(catalogue.body()));
+        assertTrue(courses.size() >= 50);
+
+        HttpResponse<byte[]> single = get("/api/courses/" + course.getCourseId(), null, true);
+        assertEquals(200, single.statusCode());
+        assertFalse(single.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals(course.getCourseName(), objectMapper.readTree(single.body()).get("courseName").asText());
+
+        HttpResponse<byte[]> identity = get("/api/courses", null, false);
+        assertFalse(identity.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals(courses, objectMapper.readTree(identity.body()));
+    }
+
+    @Test
+    void groupListsKeepTheirJsonShape() throws Exception {
+        assertTrue(objectMapper.getRegisteredModuleIds().contains(new BlackbirdModule().getTypeId()));
+
+        User owner = fixtures.saveUser("owner");
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("Group " + UUID.randomUUID());
+        request.setDescription("Study group");
+        request.setAssociatedCourseId(course.getCourseId());
+        request.setPrivacy("Private");
+        request.setPasskey("secret");
+        request.setMemberLimit(10);
+        groupService.createGroup(request, owner);
+
+        HttpResponse<byte[]> response = get("/api/groups/my-groups", jwtService.generateToken(owner.getEmail()), true);
+        assertEquals(200, response.statusCode());
+        byte[] body = response.headers().firstValue("Content-Encoding").isPresent() ? gunzip(response.body()) : response.body();
+        JsonNode group = objectMapper.readTree(body).get(0);
+
+        assertEquals(request.getName(), group.get("name").asText());
+        assertEquals("private", group.get("privacy").asText());
+        assertTrue(group.get("hasPasskey").asBoolean());
+        assertEquals(1, group.get("memberCount").asLong());
+        assertEquals("Admin", group.get("userRole").asText());
+        assertEquals(course.getCourseName(), group.get("associatedCourse").get("courseName").asText());
+        assertEquals("owner", group.get("createdBy").get("name").asText());
+    }
+
+    @Test
+    void eventStreamsAreFlushedPerEventAndNotCompressed() throws Exception {
+        User user = fixtures.saveUser("streamer", "[\"" + course.getCourseId() + "\"]");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/dashboard/stream"))
+                .header("Authorization", "Bearer " + jwtService.generateToken(user.getEmail()))
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<Stream<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        try (Stream<String> lines = response.body()) {
+            assertEquals(200, response.statusCode());
+            assertFalse(response.headers().firstValue("Content-Encoding").isPresent());
+            // The stream stays open; the first event arrives only if it was flushed.
+            String event = CompletableFuture.supplyAsync(() -> lines.filter(line -> line.startsWith("event:")).findFirst().orElse(""))
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals("event:dashboard", event);
+        }
+    }
+
+    private HttpResponse<byte[]> get(String path, String token, boolean acceptGzip) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (acceptGzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.studyGroup.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyGroup.backend.TestFixtures;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.Group;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.repository.GroupRepository;
+import com.studyGroup.backend.repository.UsersRepository;
+import com.studyGroup.backend.service.CourseService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Once warm, the second-level cache serves Course and User without touching JDBC, both by
+ * id and through the lazy references on Group, and writes through JPA keep it current.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.save(new Course("CS" + UUID.randomUUID(), "Intro to CS", "Basics"));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void lazyCourseAndCreatorLoadFromTheCache() {
+        User owner = fixtures.saveUser("owner");
+        Long groupId = fixtures.createGroup(owner, course.getCourseId(), "public").getGroupId();
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals(3, loadGroupWithReferences(groupId));
+        // Warm: only the group itself is read.
+        assertEquals(1, loadGroupWithReferences(groupId));
+
+        assertTrue(hitRatio(SecondLevelCacheConfig.COURSE_REGION) > 0);
+        assertTrue(hitRatio(SecondLevelCacheConfig.USER_REGION) > 0);
+    }
+
+    @Test
+    void courseListComesFromTheQueryCacheUntilACourseChanges() {
+        courseService.getAllCourses();
+        try (StatementCounter statements = StatementCounter.start()) {
+            assertTrue(names(courseService.getAllCourses()).contains("Intro to CS"));
+            assertEquals(0, statements.count());
+        }
+
+        courseService.updateCourse(course.getCourseId(), new Course(null, "Data Structures", "Lists and trees"));
+
+        try (StatementCounter statements = StatementCounter.start()) {
+            assertTrue(names(courseService.getAllCourses()).contains("Data Structures"));
+            assertEquals(1, statements.count());
+        }
+        try (StatementCounter statements = StatementCounter.start()) {
+            assertEquals("Data Structures", courseService.getCourseById(course.getCourseId()).orElseThrow().getCourseName());
+            assertEquals(0, statements.count());
+        }
+    }
+
+    @Test
+    void userUpdatesReplaceTheCachedCopy() {
+        User user = fixtures.saveUser("before");
+        usersRepository.findById(user.getId());
+
+        User renamed = usersRepository.findById(user.getId()).orElseThrow();
+        renamed.setName("after");
+        usersRepository.save(renamed);
+
+        try (StatementCounter statements = StatementCounter.start()) {
+            assertEquals("after", usersRepository.findById(user.getId()).orElseThrow().getName());
+            assertEquals(0, statements.count());
+        }
+    }
+
+    /** Loads a group and touches its course and creator; returns the statements it took. */
+    private int loadGroupWithReferences(Long groupId) {
+        try (StatementCounter statements = StatementCounter.start()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Group group = groupRepository.findById(groupId).orElseThrow();
+                assertEquals("Intro to CS", group.getAssociatedCourse().getCourseName());
+                assertEquals("owner", group.getCreatedBy().getName());
+            });
+            return statements.count();
+        }
+    }
+
+    private double hitRatio(String region) {
+        return meterRegistry.get("hibernate.cache.hit.ratio").tag("region", region).gauge().value();
+    }
+
+    private static List<String> names(List<Course> courses) {
+        return courses.stream().map(Course::getCourseName).toList();
+    }
+}
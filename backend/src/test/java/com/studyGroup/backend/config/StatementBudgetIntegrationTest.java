@@ -0,0 +1,173 @@
+package com.studyGroup.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.studyGroup.backend.TestFixtures;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.repository.GroupJoinRequestRepository;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.JWTService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Guards GroupController and DashboardController against N+1 queries: list endpoints must
+ * run the same number of SQL statements whatever the size of the list, and every endpoint
+ * must stay within a small fixed budget.
+ */
+@SpringBootTest(properties = {
+        "db.statement-budget.routes[0].method=GET",
+        "db.statement-budget.routes[0].path=/api/groups/all",
+        "db.statement-budget.routes[0].limit=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementBudgetIntegrationTest {
+
+    private static final int ENDPOINT_BUDGET = 12;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GroupJoinRequestRepository groupJoinRequestRepository;
+
+    private User owner;
+
+    private Long publicGroupId;
+
+    private Long privateGroupId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        courseRepository.save(new Course("CS101", "Intro to CS", "Basics"));
+        owner = fixtures.saveUser("owner", "[\"CS101\"]");
+        publicGroupId = fixtures.createGroup(owner, "CS101", "public").getGroupId();
+        privateGroupId = fixtures.createGroup(owner, "CS101", "private").getGroupId();
+        // Warm the auth-path user cache so it doesn't skew the first measured request.
+        statements(get("/api/groups/my-groups"), owner);
+    }
+
+    @Test
+    void listEndpointsRunAFixedNumberOfStatements() throws Exception {
+        grow(2);
+        List<Integer> few = listStatements();
+        grow(6);
+        List<Integer> many = listStatements();
+
+        assertEquals(few, many, "statements per list endpoint should not grow with the list");
+        many.forEach(count -> assertTrue(count <= ENDPOINT_BUDGET, "over budget: " + many));
+    }
+
+    @Test
+    void everyOtherEndpointStaysWithinBudget() throws Exception {
+        User member = fixtures.saveUser("member", "[\"CS101\"]");
+        User applicant = fixtures.saveUser("applicant", "[\"CS101\"]");
+
+        try (StatementCounter statements = StatementCounter.start()) {
+            perform(post("/api/groups/create").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"New\",\"description\":\"d\",\"associatedCourseId\":\"CS101\",\"privacy\":\"public\",\"memberLimit\":5}"), owner);
+            statements.assertAtMost(ENDPOINT_BUDGET);
+        }
+        assertWithinBudget(post("/api/groups/join/" + publicGroupId), member);
+        assertWithinBudget(post("/api/groups/join/" + privateGroupId), applicant);
+        Long requestId = groupJoinRequestRepository.findAll().get(0).getId();
+        assertWithinBudget(put("/api/groups/" + privateGroupId + "/requests/" + requestId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"action\":\"APPROVED\"}"), owner);
+        assertWithinBudget(get("/api/groups/" + publicGroupId), member);
+        assertWithinBudget(get("/api/groups/" + publicGroupId + "/presence"), member);
+        assertWithinBudget(put("/api/groups/" + publicGroupId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Renamed\",\"description\":\"Updated\"}"), owner);
+        assertWithinBudget(put("/api/groups/" + publicGroupId + "/members/" + member.getId() + "/role")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"role\":\"Admin\"}"), owner);
+        assertWithinBudget(delete("/api/groups/" + privateGroupId + "/members/" + applicant.getId()), owner);
+        assertWithinBudget(delete("/api/groups/leave/" + publicGroupId), member);
+        assertWithinBudget(get("/api/dashboard/stream"), owner);
+    }
+
+    @Test
+    void requestsOverTheirRouteBudgetAreCounted() throws Exception {
+        statements(get("/api/groups/all"), owner);
+
+        Counter exceeded = meterRegistry.find("db.request.budget.exceeded").tags("uri", "/api/groups/all").counter();
+        assertTrue(exceeded != null && exceeded.count() > 0);
+    }
+
+    private List<Integer> listStatements() throws Exception {
+        List<Integer> counts = new ArrayList<>();
+        counts.add(statements(get("/api/groups/my-groups"), owner));
+        counts.add(statements(get("/api/groups/all"), owner));
+        counts.add(statements(get("/api/groups/" + publicGroupId + "/members"), owner));
+        counts.add(statements(get("/api/groups/" + privateGroupId + "/requests"), owner));
+        counts.add(statements(get("/api/dashboard"), owner));
+        return counts;
+    }
+
+    /**
+     * Adds n of everything the list endpoints return: groups of the owner, members,
+     * pending join requests and peers sharing a course with the owner.
+     */
+    private void grow(int n) {
+        for (int i = 0; i < n; i++) {
+            fixtures.createGroup(owner, "CS101", "public");
+            groupService.joinGroup(publicGroupId, fixtures.saveUser("member", "[\"CS101\"]"), null);
+            groupService.joinGroup(privateGroupId, fixtures.saveUser("applicant", "[\"CS101\"]"), null);
+            fixtures.saveUser("peer", "[\"CS101\"]");
+        }
+    }
+
+    private void assertWithinBudget(MockHttpServletRequestBuilder request, User user) throws Exception {
+        int count = statements(request, user);
+        assertTrue(count <= ENDPOINT_BUDGET, request.buildRequest(null).getRequestURI() + " ran " + count + " statements");
+    }
+
+    private int statements(MockHttpServletRequestBuilder request, User user) throws Exception {
+        try (StatementCounter statements = StatementCounter.start()) {
+            perform(request, user);
+            return statements.count();
+        }
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, User user) throws Exception {
+        MvcResult result = mockMvc.perform(request.header("Authorization", "Bearer " + jwtService.generateToken(user.getEmail())))
+                .andReturn();
+        int status = result.getResponse().getStatus();
+        assertTrue(status >= 200 && status < 300, "HTTP " + status + ": " + result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,106 @@
+package com.studyGroup.backend.datagen;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.dto.GroupDTO;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.UsersRepository;
+import com.studyGroup.backend.service.GroupService;
+import com.studyGroup.backend.service.UserService;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "datagen.users=3000",
+        "datagen.courses=50",
+        "datagen.groups=200",
+        "datagen.rows-per-statement=128"
+})
+@ActiveProfiles("test")
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private DataGenProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Test
+    void generatesAConsistentDatasetThatIsTheSameForTheSameSeed() throws SQLException {
+        properties.setCoursePrefix("A");
+        SyntheticDataGenerator.Result first = generator.generate();
+        properties.setCoursePrefix("B");
+        SyntheticDataGenerator.Result second = generator.generate();
+
+        assertEquals(3000, first.users());
+        assertEquals(50, first.courses());
+        assertTrue(first.groups() > 0 && first.memberships() >= first.groups() && first.joinRequests() > 0);
+        assertEquals(List.of(first.courses(), first.users(), first.groups(), first.memberships(), first.joinRequests()),
+                List.of(second.courses(), second.users(), second.groups(), second.memberships(), second.joinRequests()));
+        assertEquals(3000, enrolments("A").size());
+        assertEquals(enrolments("A"), enrolments("B"));
+
+        // Every group is within its member limit and has its creator as the only admin.
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM study_group g WHERE "
+                + "(SELECT COUNT(*) FROM group_member m WHERE m.group_id = g.group_id) > g.member_limit "
+                + "OR (SELECT COUNT(*) FROM group_member m WHERE m.group_id = g.group_id AND m.role = 'Admin' "
+                + "AND m.user_id = g.created_by_userid) <> 1", Long.class));
+        // Pending requests only come from non-members.
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM group_join_request r JOIN group_member m "
+                + "ON m.group_id = r.group_id AND m.user_id = r.user_id", Long.class));
+        // Course popularity is skewed: the first course has the most students.
+        assertTrue(countEnrolled("A00000") > countEnrolled("A00049"));
+    }
+
+    @Test
+    void generatedUsersCanSignInAndTheAppKeepsAssigningIds() throws SQLException {
+        properties.setCoursePrefix("C");
+        generator.generate();
+
+        User user = usersRepository.findAll().get(0);
+        assertTrue(userService.validateCredentials(user.getEmail(), properties.getPassword()).startsWith("200"));
+
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("After generation");
+        request.setDescription("Identity columns continue after the generated ids");
+        request.setAssociatedCourseId("C00000");
+        request.setPrivacy("public");
+        request.setMemberLimit(10);
+        GroupDTO group = groupService.createGroup(request, user);
+        Long maxGenerated = jdbcTemplate.queryForObject("SELECT MAX(group_id) FROM study_group WHERE name <> 'After generation'", Long.class);
+        assertTrue(group.getGroupId() > maxGenerated);
+    }
+
+    /** Each generated profile's course list with the course prefix removed, in user order. */
+    private List<String> enrolments(String prefix) {
+        return jdbcTemplate.queryForList("SELECT p.enrolled_course_ids FROM profile p JOIN user u ON u.email = p.email "
+                        + "WHERE p.enrolled_course_ids LIKE ? ORDER BY u.id", String.class, "[\"" + prefix + "%")
+                .stream().map(json -> json.replace("\"" + prefix, "\"")).toList();
+    }
+
+    private long countEnrolled(String courseId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM profile WHERE enrolled_course_ids LIKE ?", Long.class,
+                "%\"" + courseId + "\"%");
+    }
+}
@@ -0,0 +1,61 @@
+package com.studyGroup.backend.loadtest;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end load test: boots the application on the test profile (H2 in MySQL mode, GreenMail
+ * as SMTP server), seeds a synthetic dataset and drives mixed traffic from virtual-thread
+ * clients over real HTTP. Prints throughput and p50/p95/p99 latency per endpoint and writes
+ * them as JSON to loadtest.report. Samples taken during the warmup are discarded.
+ *
+ * Excluded from the normal build; run with
+ * mvn -Ploadtest test -Dloadtest.clients=100 -Dloadtest.duration=60s
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 20);
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void mixedTraffic() throws Exception {
+        LoadDriver driver = new LoadDriver(context, port, CLIENTS);
+        LoadTestReport report = driver.run();
+
+        double seconds = LoadDriver.DURATION.toNanos() / 1e9;
+        log.info("Load test results over {} with {} clients:{}", LoadDriver.DURATION, CLIENTS, report.format(seconds));
+        report.writeJson(REPORT, driver.settings(), seconds);
+
+        assertEquals(0, report.serverErrors(), "requests failed with 5xx");
+    }
+}
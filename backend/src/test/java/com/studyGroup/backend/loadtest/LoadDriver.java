@@ -0,0 +1,295 @@
+package com.studyGroup.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationContext;
+
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.Group;
+import com.studyGroup.backend.model.GroupMember;
+import com.studyGroup.backend.model.GroupMemberId;
+import com.studyGroup.backend.model.Profile;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+import com.studyGroup.backend.repository.GroupMemberRepository;
+import com.studyGroup.backend.repository.GroupRepository;
+import com.studyGroup.backend.repository.ProfileRepository;
+import com.studyGroup.backend.repository.UsersRepository;
+import com.studyGroup.backend.service.PasswordHashingService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds a synthetic dataset into a running application and drives mixed traffic at it over
+ * real HTTP from virtual-thread clients. Shared by the load tests; sizes come from the
+ * loadtest.* system properties.
+ */
+class LoadDriver {
+
+    static final String PASSWORD = "load-test-password";
+
+    static final int USERS = Integer.getInteger("loadtest.users", 1000);
+    static final int COURSES = Integer.getInteger("loadtest.courses", 20);
+    static final int GROUPS = Integer.getInteger("loadtest.groups", 100);
+    static final long SEED = Long.getLong("loadtest.seed", 42L);
+    static final Duration WARMUP = DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "5s"));
+    static final Duration DURATION = DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "20s"));
+
+    private final ApplicationContext context;
+
+    private final int port;
+
+    private final int clients;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<User> users;
+
+    /** Private groups without a passkey: joining one creates a request its owner approves. */
+    private final List<Group> privateGroups = new ArrayList<>();
+
+    LoadDriver(ApplicationContext context, int port, int clients) {
+        this.context = context;
+        this.port = port;
+        this.clients = clients;
+    }
+
+    /** Seeds the dataset, then runs the clients through the warmup and the measured duration. */
+    LoadTestReport run() throws Exception {
+        seed(new Random(SEED));
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long end = measureFrom + DURATION.toNanos();
+        LoadTestReport report = new LoadTestReport();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LoadTestReport>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                Client client = new Client(users.get(i % users.size()), new Random(SEED + i + 1), measureFrom, end);
+                results.add(threads.submit(client::run));
+            }
+            for (Future<LoadTestReport> result : results) {
+                report.merge(result.get());
+            }
+        }
+        return report;
+    }
+
+    Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("clients", clients);
+        settings.put("users", USERS);
+        settings.put("courses", COURSES);
+        settings.put("groups", GROUPS);
+        settings.put("seed", SEED);
+        settings.put("warmup", WARMUP.toString());
+        settings.put("duration", DURATION.toString());
+        return settings;
+    }
+
+    /**
+     * Users with profiles enrolled in three courses each, and groups owned round-robin by the
+     * client users, every other one private. Each client starts out a member of a few public groups.
+     */
+    private void seed(Random random) {
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        GroupRepository groupRepository = context.getBean(GroupRepository.class);
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < COURSES; c++) {
+            courses.add(new Course("LT" + c, "Load test course " + c, "Synthetic"));
+        }
+        courseRepository.saveAll(courses);
+
+        String hash = context.getBean(PasswordHashingService.class).encode(PASSWORD);
+        List<User> newUsers = new ArrayList<>();
+        List<Profile> profiles = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setName("Load User " + u);
+            user.setEmail("load" + u + "@example.com");
+            user.setPassword(hash);
+            newUsers.add(user);
+
+            StringJoiner enrolled = new StringJoiner(",", "[", "]");
+            for (int c = 0; c < 3; c++) {
+                enrolled.add("\"LT" + random.nextInt(COURSES) + "\"");
+            }
+            Profile profile = new Profile();
+            profile.setEmail(user.getEmail());
+            profile.setAboutMe("Synthetic user " + u);
+            profile.setEnrolledCourseIds(enrolled.toString());
+            profiles.add(profile);
+        }
+        users = context.getBean(UsersRepository.class).saveAll(newUsers);
+        context.getBean(ProfileRepository.class).saveAll(profiles);
+
+        List<Group> publicGroups = new ArrayList<>();
+        List<GroupMember> memberships = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            Group group = new Group();
+            group.setName("Load group " + g);
+            group.setDescription("Synthetic group " + g);
+            group.setAssociatedCourse(courses.get(random.nextInt(COURSES)));
+            group.setCreatedBy(users.get(g % Math.min(clients, USERS)));
+            group.setPrivacy(g % 2 == 0 ? "private" : "public");
+            group.setMemberLimit(USERS);
+            group = groupRepository.save(group);
+            (g % 2 == 0 ? privateGroups : publicGroups).add(group);
+            memberships.add(membership(group, group.getCreatedBy(), "Admin"));
+        }
+        for (int i = 0; i < Math.min(clients, USERS) && !publicGroups.isEmpty(); i++) {
+            Set<Group> joined = new HashSet<>();
+            for (int j = 0; j < 3; j++) {
+                Group group = publicGroups.get(random.nextInt(publicGroups.size()));
+                if (!group.getCreatedBy().getId().equals(users.get(i).getId()) && joined.add(group)) {
+                    memberships.add(membership(group, users.get(i), "Member"));
+                }
+            }
+        }
+        context.getBean(GroupMemberRepository.class).saveAll(memberships);
+    }
+
+    private static GroupMember membership(Group group, User user, String role) {
+        GroupMember member = new GroupMember();
+        member.setId(new GroupMemberId(group.getGroupId(), user.getId()));
+        member.setGroup(group);
+        member.setUser(user);
+        member.setRole(role);
+        return member;
+    }
+
+    /**
+     * One simulated user: signs in, then loops over a weighted mix of actions until the end
+     * of the run. Requests are sequential, so each client has at most one in flight.
+     */
+    private final class Client {
+
+        private final User user;
+
+        private final Random random;
+
+        private final long measureFrom;
+
+        private final long end;
+
+        private final List<Long> ownedPrivateGroups = new ArrayList<>();
+
+        private final List<Long> joinableGroups = new ArrayList<>();
+
+        private final LoadTestReport report = new LoadTestReport();
+
+        private String token;
+
+        Client(User user, Random random, long measureFrom, long end) {
+            this.user = user;
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            for (Group group : privateGroups) {
+                (group.getCreatedBy().getId().equals(user.getId()) ? ownedPrivateGroups : joinableGroups).add(group.getGroupId());
+            }
+        }
+
+        LoadTestReport run() throws Exception {
+            signIn();
+            while (System.nanoTime() < end) {
+                int roll = random.nextInt(100);
+                if (roll < 5) {
+                    signIn();
+                } else if (roll < 40) {
+                    send("GET /api/dashboard", get("/api/dashboard"));
+                } else if (roll < 60) {
+                    send("GET /api/groups/all", get("/api/groups/all"));
+                } else if (roll < 70) {
+                    send("GET /api/groups/my-groups", get("/api/groups/my-groups"));
+                } else if (roll < 85) {
+                    join();
+                } else {
+                    approve();
+                }
+            }
+            return report;
+        }
+
+        private void signIn() throws Exception {
+            String body = objectMapper.writeValueAsString(Map.of("email", user.getEmail(), "password", PASSWORD));
+            HttpResponse<String> response = send("POST /api/users/signin", request("/api/users/signin")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            if (response.statusCode() == 200) {
+                token = objectMapper.readTree(response.body()).get("token").asText();
+            }
+        }
+
+        /** Requests to join a private group this user hasn't asked to join yet. */
+        private void join() throws Exception {
+            if (joinableGroups.isEmpty()) {
+                send("GET /api/groups/all", get("/api/groups/all"));
+                return;
+            }
+            Long groupId = joinableGroups.remove(random.nextInt(joinableGroups.size()));
+            send("POST /api/groups/join/{groupId}", authorized("/api/groups/join/" + groupId)
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+        }
+
+        /** Lists the pending requests of one of this user's private groups and approves the oldest. */
+        private void approve() throws Exception {
+            if (ownedPrivateGroups.isEmpty()) {
+                send("GET /api/groups/my-groups", get("/api/groups/my-groups"));
+                return;
+            }
+            Long groupId = ownedPrivateGroups.get(random.nextInt(ownedPrivateGroups.size()));
+            HttpResponse<String> pending = send("GET /api/groups/{groupId}/requests", get("/api/groups/" + groupId + "/requests"));
+            if (pending.statusCode() != 200) {
+                return;
+            }
+            JsonNode requests = objectMapper.readTree(pending.body()).path("requests");
+            if (requests.isEmpty()) {
+                return;
+            }
+            long requestId = requests.get(0).get("id").asLong();
+            send("PUT /api/groups/{groupId}/requests/{requestId}", authorized("/api/groups/" + groupId + "/requests/" + requestId)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"action\":\"APPROVED\"}")));
+        }
+
+        private HttpRequest.Builder get(String path) {
+            return authorized(path).GET();
+        }
+
+        private HttpRequest.Builder authorized(String path) {
+            return request(path).header("Authorization", "Bearer " + token);
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws Exception {
+            long started = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (started >= measureFrom) {
+                report.record(endpoint, System.nanoTime() - started, response.statusCode());
+            }
+            return response;
+        }
+    }
+}
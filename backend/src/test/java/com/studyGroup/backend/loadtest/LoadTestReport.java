@@ -0,0 +1,118 @@
+package com.studyGroup.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latency samples per endpoint. Each client records into its own instance, so recording
+ * needs no locking; the instances are merged once the run is over.
+ */
+class LoadTestReport {
+
+    private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        byEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, status);
+    }
+
+    void merge(LoadTestReport other) {
+        other.byEndpoint.forEach((endpoint, samples) ->
+                byEndpoint.computeIfAbsent(endpoint, key -> new Samples()).addAll(samples));
+    }
+
+    long serverErrors() {
+        return byEndpoint.values().stream().mapToLong(samples -> samples.serverErrors).sum();
+    }
+
+    List<EndpointStats> stats(double seconds) {
+        List<EndpointStats> stats = new ArrayList<>();
+        byEndpoint.forEach((endpoint, samples) -> stats.add(samples.stats(endpoint, seconds)));
+        return stats;
+    }
+
+    /** All endpoints together. */
+    EndpointStats total(double seconds) {
+        Samples all = new Samples();
+        byEndpoint.values().forEach(all::addAll);
+        return all.stats("total", seconds);
+    }
+
+    String format(double seconds) {
+        StringBuilder table = new StringBuilder(String.format("%n%-42s %8s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats s : stats(seconds)) {
+            table.append(String.format("%-42s %8d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        }
+        return table.toString();
+    }
+
+    void writeJson(Path file, Map<String, Object> settings, double seconds) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(file.toFile(), Map.of("settings", settings, "durationSeconds", seconds, "endpoints", stats(seconds)));
+    }
+
+    record EndpointStats(String endpoint, int requests, long errors, double throughput,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+
+        private int size;
+
+        /** Responses other than 2xx. */
+        private long errors;
+
+        private long serverErrors;
+
+        void add(long elapsed, int status) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = elapsed;
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+            if (status >= 500) {
+                serverErrors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, size + other.size);
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+            errors += other.errors;
+            serverErrors += other.serverErrors;
+        }
+
+        EndpointStats stats(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, size, errors, size / seconds,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.95), percentileMs(sorted, 0.99), percentileMs(sorted, 1.0));
+        }
+
+        /** Nearest-rank percentile. */
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+}
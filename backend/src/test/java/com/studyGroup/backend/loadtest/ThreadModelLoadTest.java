@@ -0,0 +1,157 @@
+package com.studyGroup.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.studyGroup.backend.BackendApplication;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the same mixed traffic against the application twice, once on Tomcat's platform
+ * thread pool and once with spring.threads.virtual.enabled=true, and reports throughput and
+ * latency for both. The embedded database answers in microseconds, so every statement is
+ * delayed by loadtest.statement-latency to stand in for the network round trip to a real one.
+ *
+ * Excluded from the normal build; run with
+ * mvn -Ploadtest test -Dtest=ThreadModelLoadTest -Dloadtest.clients=400
+ */
+@Tag("load")
+class ThreadModelLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModelLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final Duration STATEMENT_LATENCY =
+            DurationStyle.detectAndParse(System.getProperty("loadtest.statement-latency", "1ms"));
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/thread-model-report.json"));
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Test
+    void platformAndVirtualThreads() throws Exception {
+        double seconds = LoadDriver.DURATION.toNanos() / 1e9;
+        Map<String, Object> results = new LinkedHashMap<>();
+        long virtualServerErrors = 0;
+        for (boolean virtual : new boolean[] {false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext app = start(mode, virtual)) {
+                int port = Integer.parseInt(app.getEnvironment().getRequiredProperty("local.server.port"));
+                LoadDriver driver = new LoadDriver(app, port, CLIENTS);
+                LoadTestReport report = driver.run();
+                LoadTestReport.EndpointStats total = report.total(seconds);
+                log.info("{} threads, {} clients: {} req/s, p99 {} ms{}", mode, CLIENTS,
+                        String.format("%.1f", total.throughput()), String.format("%.2f", total.p99Ms()), report.format(seconds));
+
+                results.put("settings", driver.settings());
+                results.put(mode, Map.of("total", total, "serverErrors", report.serverErrors(), "endpoints", report.stats(seconds)));
+                if (virtual) {
+                    virtualServerErrors = report.serverErrors();
+                }
+            }
+        }
+        results.put("statementLatency", STATEMENT_LATENCY.toString());
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), results);
+
+        // Platform threads may shed load with 5xx once requests wait out db.concurrency.acquire-timeout;
+        // that is part of the comparison. The default, virtual threads, must keep up.
+        assertEquals(0, virtualServerErrors, "requests failed with 5xx on virtual threads");
+    }
+
+    /** A fresh application on a random port with its own in-memory database. */
+    private static ConfigurableApplicationContext start(String mode, boolean virtual) {
+        return new SpringApplicationBuilder(BackendApplication.class, SimulatedStatementLatency.class)
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:threadmodel_" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1");
+    }
+
+    /** Sleeps before every statement execution, on whichever thread runs it. */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SimulatedStatementLatency {
+
+        @Bean
+        static BeanPostProcessor statementLatencyPostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof DelayingDataSource)) {
+                        return new DelayingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static final class DelayingDataSource extends DelegatingDataSource {
+
+        DelayingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return delaying(obtainTargetDataSource().getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return delaying(obtainTargetDataSource().getConnection(username, password), Connection.class);
+        }
+
+        /** Wraps statements handed out by a connection, and delays execute* calls on statements. */
+        @SuppressWarnings("unchecked")
+        private static <T> T delaying(T target, Class<T> type) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                    Thread.sleep(STATEMENT_LATENCY);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (type == Connection.class && result instanceof Statement
+                        && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return delaying(result, (Class<Object>) method.getReturnType());
+                }
+                return result;
+            };
+            return (T) Proxy.newProxyInstance(ThreadModelLoadTest.class.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.studyGroup.backend.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyGroup.backend.config.SlowQueryLog;
+import com.studyGroup.backend.datagen.SyntheticDataGenerator;
+import com.studyGroup.backend.model.Group;
+import com.studyGroup.backend.model.OtpEntryId;
+import com.studyGroup.backend.model.User;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every query method of the repositories against a synthetic dataset, captures the SQL
+ * Hibernate issued (through SlowQueryLog, which sees every statement) and EXPLAINs each one
+ * that has a WHERE clause: none of them may scan a whole table or index. Statements without
+ * a WHERE clause read everything by design (findAll, unfiltered counts) and are not checked.
+ *
+ * The plans are H2's. They show that every filter has an index it can use; whether MySQL's
+ * cost-based optimizer picks it on production data has to be checked there.
+ */
+@SpringBootTest(properties = {
+        "datagen.users=2000",
+        "datagen.courses=40",
+        "datagen.groups=200",
+        "datagen.rows-per-statement=250"
+})
+@ActiveProfiles("test")
+class RepositoryQueryPlanIntegrationTest {
+
+    /** H2 names the access path in a comment; "schema.index: condition" is a lookup, a bare name is a full scan. */
+    private static final Pattern ACCESS_PATH = Pattern.compile("/\\*\\s*public\\.([^*]*?)\\s*\\*/", Pattern.CASE_INSENSITIVE);
+
+    @MockitoSpyBean
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    @Autowired
+    private GroupJoinRequestRepository groupJoinRequestRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private OtpEntryRepository otpEntryRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        if (usersRepository.count() == 0) {
+            generator.generate();
+            jdbcTemplate.execute("ANALYZE");
+        }
+        Mockito.clearInvocations(slowQueryLog);
+    }
+
+    @Test
+    void noRepositoryQueryScansAWholeTable() {
+        Long privateGroupId = jdbcTemplate.queryForObject(
+                "SELECT MIN(group_id) FROM group_join_request WHERE status = 'PENDING'", Long.class);
+        Integer memberId = jdbcTemplate.queryForObject(
+                "SELECT MIN(user_id) FROM group_member WHERE group_id = ?", Integer.class, privateGroupId);
+        Instant now = Instant.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = usersRepository.findById(memberId).orElseThrow();
+            Group group = groupRepository.findById(privateGroupId).orElseThrow();
+            courseRepository.findById(group.getAssociatedCourse().getCourseId());
+
+            usersRepository.findByEmail(user.getEmail());
+            usersRepository.findCredentialsByEmail(user.getEmail());
+            usersRepository.existsByEmail(user.getEmail());
+            usersRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), user.getPassword());
+            profileRepository.findByEmail(user.getEmail());
+            profileRepository.findByEmailIn(List.of(user.getEmail(), "nobody@example.com"));
+
+            groupMemberRepository.findByUserId(user.getId());
+            groupMemberRepository.findByUserIdIn(List.of(user.getId()));
+            groupMemberRepository.findWithGroupByUserId(user.getId());
+            groupMemberRepository.countByGroup(group);
+            groupMemberRepository.countByGroupGroupId(group.getGroupId());
+            groupMemberRepository.countByGroupIds(List.of(group.getGroupId(), group.getGroupId() + 1));
+            groupMemberRepository.existsByGroupAndUser(group, user);
+            groupMemberRepository.findByGroupGroupIdAndUser_Id(group.getGroupId(), user.getId());
+            groupMemberRepository.findByGroup(group);
+            groupMemberRepository.findWithUserByGroup(group);
+
+            groupJoinRequestRepository.existsByGroupAndUserAndStatus(group, user, "PENDING");
+            groupJoinRequestRepository.findByGroupAndStatus(group, "PENDING");
+            groupJoinRequestRepository.deleteByGroupAndUser(group, user);
+            groupJoinRequestRepository.deleteByGroup(group);
+
+            chatMessageRepository.findByGroupIdOrderByIdDesc(group.getGroupId(), PageRequest.of(0, 50));
+            chatMessageRepository.findByGroupIdAndIdLessThanOrderByIdDesc(group.getGroupId(), 1000L, PageRequest.of(0, 50));
+            chatMessageRepository.deleteByGroupId(group.getGroupId());
+
+            emailOutboxRepository.findDueForUpdate(now, PageRequest.of(0, 10));
+            emailOutboxRepository.countByStatus("PENDING");
+            emailOutboxRepository.deleteSentBefore(now.minusSeconds(86400));
+
+            otpEntryRepository.deleteIfMatches(new OtpEntryId("otp", user.getEmail()), "123456", now);
+            otpEntryRepository.findExpiredIds(now, PageRequest.of(0, 100));
+
+            refreshTokenRepository.findByTokenHash("0".repeat(64));
+            refreshTokenRepository.markUsed(0L);
+            refreshTokenRepository.deleteByUserEmail(user.getEmail());
+            refreshTokenRepository.deleteByExpiresAtBefore(now);
+
+            tokenRevocationRepository.findByExpiresAtAfter(now);
+            tokenRevocationRepository.findByIdGreaterThan(Long.MAX_VALUE - 1);
+            tokenRevocationRepository.deleteByExpiresAtBefore(now);
+
+            status.setRollbackOnly();
+        });
+
+        Set<String> statements = capturedStatements();
+        assertTrue(statements.size() > 20, "expected the repository calls above to be captured, got " + statements);
+        List<String> fullScans = new ArrayList<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (!fullScans(plan).isEmpty()) {
+                fullScans.add(sql + "\n    " + plan);
+            }
+        }
+        assertTrue(fullScans.isEmpty(), "Statements reading a whole table or index:\n" + String.join("\n", fullScans));
+    }
+
+    @Test
+    void caseInsensitiveMatchesAreReportedAsFullScans() {
+        String plan = explain("SELECT * FROM user WHERE UPPER(email) = UPPER(?)");
+        assertEquals(1, fullScans(plan).size(), plan);
+        assertTrue(fullScans(explain("SELECT * FROM user WHERE email = ?")).isEmpty());
+    }
+
+    /** Distinct filtered SELECT, UPDATE and DELETE statements executed since setUp. */
+    private Set<String> capturedStatements() {
+        Set<String> statements = new LinkedHashSet<>();
+        for (Invocation invocation : Mockito.mockingDetails(slowQueryLog).getInvocations()) {
+            if (!invocation.getMethod().getName().equals("record")) {
+                continue;
+            }
+            String sql = invocation.getArgument(0);
+            String normalized = sql.toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("insert") || !normalized.contains(" where ")) {
+                continue;
+            }
+            statements.add(sql);
+        }
+        return statements;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1).replaceAll("\\s+", " ");
+            }
+        });
+    }
+
+    private static List<String> fullScans(String plan) {
+        List<String> scans = new ArrayList<>();
+        Matcher matcher = ACCESS_PATH.matcher(plan);
+        while (matcher.find()) {
+            if (!matcher.group(1).contains(":")) {
+                scans.add(matcher.group(1));
+            }
+        }
+        return scans;
+    }
+}
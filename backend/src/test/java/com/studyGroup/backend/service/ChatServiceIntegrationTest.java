@@ -0,0 +1,66 @@
+package com.studyGroup.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studyGroup.backend.dto.ChatMessageDTO;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.ChatMessageRepository;
+import com.studyGroup.backend.repository.UsersRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "chat.history.buffer-size=3")
+@ActiveProfiles("test")
+class ChatServiceIntegrationTest {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Test
+    void historyPagesFromTheRingIntoTheDatabase() throws Exception {
+        User sender = new User();
+        sender.setName("Sender");
+        sender.setEmail("sender-" + UUID.randomUUID() + "@example.com");
+        sender = usersRepository.save(sender);
+
+        long groupId = 4242L;
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            sentIds.add(chatService.post(groupId, sender, "message " + i).id());
+        }
+        for (int i = 1; i < sentIds.size(); i++) {
+            assertTrue(sentIds.get(i) > sentIds.get(i - 1));
+        }
+        awaitPersisted(groupId, 7);
+
+        List<ChatMessageDTO> newest = chatService.history(groupId, null, 5);
+        assertEquals(List.of("message 6", "message 5", "message 4", "message 3", "message 2"), contents(newest));
+
+        List<ChatMessageDTO> older = chatService.history(groupId, newest.get(4).id(), 5);
+        assertEquals(List.of("message 1", "message 0"), contents(older));
+    }
+
+    private void awaitPersisted(long groupId, int expected) throws InterruptedException {
+        for (int i = 0; i < 50 && chatMessageRepository.findAll().stream().filter(m -> m.getGroupId() == groupId).count() < expected; i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static List<String> contents(List<ChatMessageDTO> messages) {
+        return messages.stream().map(ChatMessageDTO::content).toList();
+    }
+}
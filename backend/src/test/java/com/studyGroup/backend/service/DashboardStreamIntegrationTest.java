@@ -0,0 +1,179 @@
+package com.studyGroup.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studyGroup.backend.TestFixtures;
+import com.studyGroup.backend.dto.CreateGroupRequest;
+import com.studyGroup.backend.model.Course;
+import com.studyGroup.backend.model.User;
+import com.studyGroup.backend.repository.CourseRepository;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DashboardStreamIntegrationTest {
+
+    /** Queued by the reader when the server ends the stream. */
+    private static final Event END = new Event(null, Map.of());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private InputStream stream;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.save(new Course("CS101", "Intro to CS", "Basics"));
+        courseRepository.save(new Course("CS102", "Data Structures", "Lists and trees"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Test
+    void sendsSnapshotThenDeltas() throws Exception {
+        User owner = fixtures.saveUser("owner", "[\"CS101\"]");
+        User peer = fixtures.saveUser("peer", "[]");
+
+        CreateGroupRequest request = new CreateGroupRequest();
+        request.setName("Compilers");
+        request.setDescription("Reading group");
+        request.setAssociatedCourseId("CS101");
+        request.setPrivacy("public");
+        request.setMemberLimit(10);
+        Long groupId = groupService.createGroup(request, owner).getGroupId();
+
+        BlockingQueue<Event> events = open(owner);
+        Event snapshot = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(snapshot);
+        assertEquals("dashboard", snapshot.name());
+        assertEquals(1, ((List<?>) snapshot.data().get("joinedGroups")).size());
+        assertEquals(1, snapshot.data().get("enrolledCoursesCount"));
+
+        groupService.joinGroup(groupId, peer, null);
+        Event memberCount = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(memberCount);
+        assertEquals("MEMBER_COUNT_CHANGED", memberCount.data().get("type"));
+        assertEquals(2, memberCount.data().get("memberCount"));
+
+        profileService.enrollInCourse(peer.getEmail(), "CS101");
+        Event suggested = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(suggested);
+        assertEquals("PEER_SUGGESTED", suggested.data().get("type"));
+        assertEquals(peer.getId(), ((Map<?, ?>) ((Map<?, ?>) suggested.data().get("peer")).get("user")).get("id"));
+
+        profileService.enrollInCourse(owner.getEmail(), "CS102");
+        assertEquals(2, events.poll(5, TimeUnit.SECONDS).data().get("enrolledCoursesCount"));
+        Event peers = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(peers);
+        assertEquals("SUGGESTED_PEERS", peers.data().get("type"));
+        assertEquals(1, ((List<?>) peers.data().get("suggestedPeers")).size());
+
+        profileService.unenrollFromCourse(peer.getEmail(), "CS101");
+        assertEquals("PEER_REMOVED", events.poll(5, TimeUnit.SECONDS).data().get("type"));
+    }
+
+    @Test
+    void streamEndsOnceItsTokenIsRevoked() throws Exception {
+        User user = fixtures.saveUser("reader", "[]");
+        String token = jwtService.generateToken(user.getEmail());
+
+        BlockingQueue<Event> events = open(token);
+        Event snapshot = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(snapshot);
+        assertEquals("dashboard", snapshot.name());
+
+        jwtService.revokeToken(token);
+        dashboardStreamService.sendHeartbeats();
+        assertSame(END, events.poll(5, TimeUnit.SECONDS));
+    }
+
+    private BlockingQueue<Event> open(User user) throws Exception {
+        return open(jwtService.generateToken(user.getEmail()));
+    }
+
+    private BlockingQueue<Event> open(String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/dashboard/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        stream = response.body();
+
+        BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> read(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)), events));
+        reader.setDaemon(true);
+        reader.start();
+        return events;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void read(BufferedReader reader, BlockingQueue<Event> events) {
+        try {
+            String name = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    events.add(new Event(name, objectMapper.readValue(line.substring("data:".length()), Map.class)));
+                }
+            }
+            events.add(END);
+        } catch (Exception e) {
+            // Stream closed by tearDown.
+        }
+    }
+
+    private record Event(String name, Map<String, Object> data) {
+    }
+}
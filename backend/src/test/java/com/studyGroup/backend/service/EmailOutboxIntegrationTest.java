@@ -0,0 +1,129 @@
+package com.studyGroup.backend.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyGroup.backend.model.EmailOutbox;
+import com.studyGroup.backend.repository.EmailOutboxRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearOutbox() {
+        emailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void registrationOtpReturnsImmediatelyAndIsDeliveredByWorkers() throws Exception {
+        long start = System.nanoTime();
+        userService.sendRegistrationOtp("new.student@example.com", "Student", Locale.ENGLISH);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1000, "queueing took " + elapsedMillis + " ms");
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertEquals("Your OTP for Study Group Finder Registration", message.getSubject());
+        assertEquals("new.student@example.com", message.getAllRecipients()[0].toString());
+        awaitStatus(EmailOutbox.SENT);
+    }
+
+    @Test
+    void sentMailsLoseTheirBodiesAndArePurgedAfterRetention() throws Exception {
+        EmailOutbox email = emailOutboxService.enqueue("someone@example.com", "subject", "Your code is 123456", "<p>123456</p>");
+        awaitStatus(EmailOutbox.SENT);
+
+        EmailOutbox sent = emailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals("", sent.getBody());
+        assertNull(sent.getHtmlBody());
+
+        emailOutboxService.purgeSent();
+        assertTrue(emailOutboxRepository.existsById(email.getId()));
+
+        sent.setSentAt(Instant.now().minus(Duration.ofDays(2)));
+        emailOutboxRepository.save(sent);
+        emailOutboxService.purgeSent();
+        assertFalse(emailOutboxRepository.existsById(email.getId()));
+    }
+
+    @Test
+    void repeatedOtpRequestsWithinTheWindowSendOneMail() throws Exception {
+        userService.sendRegistrationOtp("retrying.student@example.com", "Student", Locale.ENGLISH);
+        userService.sendRegistrationOtp("retrying.student@example.com", "Student", Locale.ENGLISH);
+        userService.sendRegistrationOtp("retrying.student@example.com", "Student", Locale.ENGLISH);
+
+        assertEquals(1, emailOutboxRepository.count());
+        awaitStatus(EmailOutbox.SENT);
+    }
+
+    @Test
+    void aRetryAfterARolledBackRequestIsNotCoalesced() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.sendRegistrationOtp("rolled.back@example.com", "Student", Locale.ENGLISH);
+            status.setRollbackOnly();
+        });
+        assertEquals(0, emailOutboxRepository.count());
+
+        userService.sendRegistrationOtp("rolled.back@example.com", "Student", Locale.ENGLISH);
+        assertEquals(1, emailOutboxRepository.count());
+        awaitStatus(EmailOutbox.SENT);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedThenDeadLettered() throws Exception {
+        greenMail.stop();
+
+        EmailOutbox email = emailOutboxService.enqueue("someone@example.com", "subject", "body");
+        awaitStatus(EmailOutbox.DEAD);
+
+        EmailOutbox dead = emailOutboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals(2, dead.getAttempts());
+        assertTrue(dead.getLastError() != null && !dead.getLastError().isEmpty());
+    }
+
+    private void awaitStatus(String status) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (emailOutboxRepository.countByStatus(status) == 1) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        assertEquals(1, emailOutboxRepository.countByStatus(status));
+    }
+}
@@ -0,0 +1,73 @@
+package com.studyGroup.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.studyGroup.backend.dto.RenderedEmail;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailTemplateServiceTest {
+
+    private EmailTemplateService emailTemplateService;
+
+    @BeforeEach
+    void setUp() {
+        emailTemplateService = new EmailTemplateService();
+        ReflectionTestUtils.setField(emailTemplateService, "location", "classpath*:templates/email/");
+        emailTemplateService.init();
+    }
+
+    @Test
+    void rendersSubjectTextAndEscapedHtml() {
+        RenderedEmail email = emailTemplateService.render("registration-otp", Locale.ENGLISH,
+                Map.of("name", "<Ada & Co>", "otp", "042137"));
+
+        assertEquals("Your OTP for Study Group Finder Registration", email.subject());
+        assertTrue(email.text().startsWith("Hello <Ada & Co>,\n\n"));
+        assertTrue(email.text().contains("Your One-Time Password (OTP) is: 042137\n"));
+        assertTrue(email.html().contains("<p>Hello &lt;Ada &amp; Co&gt;,</p>"));
+    }
+
+    @Test
+    void fallsBackFromCountryToLanguageToDefault() {
+        Map<String, String> values = Map.of("name", "Ana", "otp", "123456");
+
+        RenderedEmail spanish = emailTemplateService.render("registration-otp", Locale.forLanguageTag("es-MX"), values);
+        assertEquals("Tu código de Study Group Finder", spanish.subject());
+        assertTrue(spanish.text().contains("Tu código de un solo uso es: 123456"));
+        // Every part comes from the Spanish variant, which has no HTML, so none is sent.
+        assertNull(spanish.html());
+
+        RenderedEmail french = emailTemplateService.render("registration-otp", Locale.FRENCH, values);
+        assertEquals("Your OTP for Study Group Finder Registration", french.subject());
+    }
+
+    @Test
+    void lookupsAreCachedPerSupportedLocaleOnly() {
+        Map<String, String> values = Map.of("name", "Ana", "otp", "123456");
+        for (String tag : new String[] {"es-MX", "es-AR", "es-ES-x-made-up", "fr", "fr-CA", "zz-ZZ", "de-DE-1996"}) {
+            emailTemplateService.render("registration-otp", Locale.forLanguageTag(tag), values);
+        }
+        emailTemplateService.render("registration-otp", null, values);
+
+        Map<?, ?> resolved = (Map<?, ?>) ReflectionTestUtils.getField(emailTemplateService, "resolved");
+        // Only registration-otp_es exists, so every lookup lands on es or the default.
+        assertEquals(2, resolved.size(), "resolved " + resolved.keySet());
+    }
+
+    @Test
+    void rejectsMissingValuesAndUnknownTemplates() {
+        assertThrows(IllegalArgumentException.class,
+                () -> emailTemplateService.render("registration-otp", Locale.ENGLISH, Map.of("name", "Ana")));
+        assertThrows(IllegalArgumentException.class,
+                () -> emailTemplateService.render("no-such-template", Locale.ENGLISH, Map.of()));
+    }
+}
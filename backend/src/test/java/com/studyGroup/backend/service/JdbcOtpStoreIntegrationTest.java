@@ -0,0 +1,96 @@
+package com.studyGroup.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.studyGroup.backend.model.OtpEntry;
+import com.studyGroup.backend.model.OtpEntryId;
+import com.studyGroup.backend.repository.OtpEntryRepository;
+import com.studyGroup.backend.service.OtpStore.Bucket;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"otp.store=jdbc", "otp.store.purge-batch-size=2"})
+@ActiveProfiles("test")
+class JdbcOtpStoreIntegrationTest {
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private OtpService otpService;
+
+    @Autowired
+    private OtpEntryRepository otpEntryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearStore() {
+        otpEntryRepository.deleteAll();
+    }
+
+    @Test
+    void otpCanBeRedeemedOnlyOnce() {
+        assertInstanceOf(JdbcOtpStore.class, otpStore);
+
+        String otp = otpService.generateAndCacheOtp("student@example.com");
+        assertEquals(6, otp.length());
+        assertFalse(otpService.verifyOtp("student@example.com", "not-it"));
+        assertTrue(otpService.verifyOtp("student@example.com", otp));
+        assertFalse(otpService.verifyOtp("student@example.com", otp));
+    }
+
+    @Test
+    void putOverwritesAnExistingEntryInsideTheCallersTransaction() {
+        otpStore.put(Bucket.OTP, "student@example.com", "111111");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            otpStore.put(Bucket.OTP, "student@example.com", "222222");
+            otpStore.put(Bucket.OTP, "student@example.com", "333333");
+        });
+
+        assertEquals(1, otpEntryRepository.count());
+        assertEquals("333333", otpStore.get(Bucket.OTP, "student@example.com"));
+    }
+
+    @Test
+    void resetFlowFlagsArePersisted() {
+        otpService.markResetStarted("student@example.com");
+        assertTrue(otpService.isResetStarted("student@example.com"));
+
+        otpService.markPasswordChangeAuthorized("student@example.com");
+        assertFalse(otpService.isResetStarted("student@example.com"));
+        assertTrue(otpService.isPasswordChangeAuthorized("student@example.com"));
+
+        otpService.clearPasswordChangeAuthorization("student@example.com");
+        assertFalse(otpService.isPasswordChangeAuthorized("student@example.com"));
+    }
+
+    @Test
+    void expiredEntriesAreIgnoredAndPurgedInBatches() {
+        Instant past = Instant.now().minusSeconds(1);
+        for (int i = 0; i < 5; i++) {
+            otpEntryRepository.save(new OtpEntry(new OtpEntryId(Bucket.OTP.name(), "old" + i + "@example.com"), "123456", past));
+        }
+        otpStore.put(Bucket.OTP, "fresh@example.com", "654321");
+
+        assertNull(otpStore.get(Bucket.OTP, "old0@example.com"));
+        assertFalse(otpStore.removeIfMatches(Bucket.OTP, "old0@example.com", "123456"));
+
+        ((JdbcOtpStore) otpStore).purgeExpired();
+        assertEquals(1, otpEntryRepository.count());
+        assertEquals("654321", otpStore.get(Bucket.OTP, "fresh@example.com"));
+    }
+}
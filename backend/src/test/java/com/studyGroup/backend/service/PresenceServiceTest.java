@@ -0,0 +1,115 @@
+package com.studyGroup.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.studyGroup.backend.dto.GroupEvent;
+import com.studyGroup.backend.dto.PresenceDiff;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class PresenceServiceTest {
+
+    private PresenceService presenceService;
+
+    private SimpMessagingTemplate messagingTemplate;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        presenceService = new PresenceService();
+        ReflectionTestUtils.setField(presenceService, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(presenceService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(presenceService, "sessionTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(presenceService, "tick", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(presenceService, "maxSessions", 100000);
+        presenceService.init();
+    }
+
+    @Test
+    void userStaysOnlineUntilTheirLastSessionCloses() {
+        presenceService.connect("tab-1", 7, Set.of(1L, 2L));
+        presenceService.connect("tab-2", 7, Set.of(1L, 2L));
+        assertEquals(List.of(7), presenceService.snapshot(1L).online());
+
+        presenceService.tick();
+        assertEquals(new PresenceDiff(1L, List.of(7), List.of()), lastDiff(1L));
+
+        presenceService.disconnect("tab-1");
+        assertEquals(List.of(7), presenceService.snapshot(1L).online());
+        presenceService.disconnect("tab-2");
+        assertTrue(presenceService.snapshot(1L).online().isEmpty());
+
+        presenceService.tick();
+        assertEquals(new PresenceDiff(1L, List.of(), List.of(7)), lastDiff(1L));
+    }
+
+    @Test
+    void silentSessionsExpireThroughTheWheel() {
+        presenceService.connect("quiet", 1, Set.of(5L));
+        presenceService.connect("chatty", 2, Set.of(5L));
+
+        for (int i = 0; i < 5; i++) {
+            presenceService.touch("chatty");
+            presenceService.tick();
+        }
+
+        assertEquals(List.of(2), presenceService.snapshot(5L).online());
+    }
+
+    @Test
+    void membershipEventsUpdateConnectedSessions() {
+        presenceService.connect("s1", 3, Set.of());
+        presenceService.onGroupEvent(new GroupEvent(GroupEvent.Type.MEMBER_JOINED, 9L, 3L, "Three", "Member", null, Instant.now()));
+        assertEquals(List.of(3), presenceService.snapshot(9L).online());
+
+        presenceService.onGroupEvent(new GroupEvent(GroupEvent.Type.MEMBER_REMOVED, 9L, 3L, "Three", "Member", null, Instant.now()));
+        assertTrue(presenceService.snapshot(9L).online().isEmpty());
+
+        presenceService.tick();
+        // Joined and left within one tick: the diff only carries the final state.
+        assertEquals(new PresenceDiff(9L, List.of(), List.of(3)), lastDiff(9L));
+    }
+
+    @Test
+    void handlesFiftyThousandSessions() {
+        int sessions = 50_000;
+        for (int i = 0; i < sessions; i++) {
+            presenceService.connect("s" + i, i, Set.of((long) (i % 1000)));
+        }
+        assertEquals(50, presenceService.snapshot(0L).online().size());
+
+        presenceService.tick();
+        clearInvocations(messagingTemplate);
+        for (int tick = 0; tick < 5; tick++) {
+            presenceService.tick();
+        }
+
+        for (long groupId = 0; groupId < 1000; groupId++) {
+            assertTrue(presenceService.snapshot(groupId).online().isEmpty());
+        }
+        assertEquals(50, lastDiff(0L).offline().size());
+    }
+
+    private PresenceDiff lastDiff(Long groupId) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce())
+                .convertAndSend(eq("/topic/groups/" + groupId + "/presence"), payload.capture());
+        return (PresenceDiff) payload.getValue();
+    }
+}
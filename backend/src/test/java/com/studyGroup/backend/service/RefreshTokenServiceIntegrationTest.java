@@ -0,0 +1,107 @@
+package com.studyGroup.backend.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.studyGroup.backend.dto.TokenPair;
+import com.studyGroup.backend.model.TokenRevocation;
+import com.studyGroup.backend.repository.TokenRevocationRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private JWTService jwtService;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Test
+    void concurrentRefreshesWithOneTokenYieldAtMostOnePair() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            String email = "rotate-" + UUID.randomUUID() + "@example.com";
+            String refreshToken = refreshTokenService.issue(email);
+
+            CountDownLatch start = new CountDownLatch(1);
+            Callable<Optional<TokenPair>> refresh = () -> {
+                start.await();
+                return refreshTokenService.rotate(refreshToken);
+            };
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                List<Future<Optional<TokenPair>>> results = List.of(executor.submit(refresh), executor.submit(refresh));
+                start.countDown();
+                long issued = 0;
+                for (Future<Optional<TokenPair>> result : results) {
+                    issued += result.get().isPresent() ? 1 : 0;
+                }
+                assertTrue(issued <= 1, "the same refresh token was exchanged twice");
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void revokingAllTokensCoversOnesIssuedEarlierInTheSameSecond() {
+        String email = "same-second-" + UUID.randomUUID() + "@example.com";
+        String token = jwtService.generateToken(email);
+        assertEquals(email, jwtService.validateToken(token));
+
+        jwtService.revokeAllTokens(email);
+
+        assertEquals("401", jwtService.validateToken(token));
+    }
+
+    @Test
+    void revocationsWrittenByAnotherNodeAreSeenAfterTheNextSync() {
+        String email = "elsewhere-" + UUID.randomUUID() + "@example.com";
+        String tokenId = UUID.randomUUID().toString();
+        Instant issuedAt = Instant.now().minusSeconds(1);
+        String token = Jwts.builder()
+                .setId(tokenId)
+                .setSubject(email)
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(issuedAt.plusSeconds(600)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertEquals(email, jwtService.validateToken(token));
+
+        // Written straight to the table, the way another node's logout would be.
+        tokenRevocationRepository.save(new TokenRevocation(null, email, tokenId, Instant.now(), issuedAt.plusSeconds(600)));
+        tokenRevocationService.syncFromDatabase();
+
+        assertEquals("401", jwtService.validateToken(token));
+    }
+}
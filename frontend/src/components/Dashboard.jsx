@@ -15,6 +15,7 @@ export default function Dashboard() {
 
   const handleLogout = useCallback(() => {
     sessionStorage.removeItem("token");
+    sessionStorage.removeItem("refreshToken");
     navigate("/login");
   }, [navigate]);
 
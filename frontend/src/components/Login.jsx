@@ -82,6 +82,7 @@ export default function Login() {
 
       if (res.ok) {
         sessionStorage.setItem("token", data.token);
+        sessionStorage.setItem("refreshToken", data.refreshToken);
         navigate("/dashboard");
       } else {
         if (res.status === 404) {
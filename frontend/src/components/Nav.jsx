@@ -12,6 +12,7 @@ export default function Nav() {
 
   const handleLogout = useCallback(() => {
     sessionStorage.removeItem("token");
+    sessionStorage.removeItem("refreshToken");
     setIsLoggedIn(false);
     setUserName("User");
     setProfilePic(null);
@@ -107,6 +107,7 @@ export default function Profile() {
         console.error("Fetch error:", err);
         setError(err.message);
         sessionStorage.removeItem("token");
+        sessionStorage.removeItem("refreshToken");
         navigate("/login");
       }
       setLoading(false);
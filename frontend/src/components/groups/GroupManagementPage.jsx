@@ -371,6 +371,7 @@ export default function GroupManagementPage() {
         [groupRes, membersRes, requestsRes].some((res) => res.status === 401)
       ) {
         sessionStorage.removeItem("token");
+        sessionStorage.removeItem("refreshToken");
         navigate("/login");
         throw new Error("Your session has expired. Please log in again.");
       }
@@ -1,6 +1,7 @@
 import { StrictMode } from "react";
 import { createRoot } from "react-dom/client";
 import "./index.css";
+import "./tokenRefresh.js";
 import App from "./App.jsx";
 import { BrowserRouter } from "react-router-dom";
 
@@ -0,0 +1,46 @@
+// Access tokens are short-lived. When an authenticated request is rejected, trade the
+// refresh token for a new pair once and replay the request with the new access token.
+const API_BASE = "http://localhost:8145";
+const originalFetch = window.fetch.bind(window);
+let refreshInFlight = null;
+
+async function refreshTokens() {
+  const refreshToken = sessionStorage.getItem("refreshToken");
+  if (!refreshToken) return null;
+
+  const res = await originalFetch(`${API_BASE}/api/users/token/refresh`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json" },
+    body: JSON.stringify({ refreshToken }),
+  });
+  if (!res.ok) {
+    sessionStorage.removeItem("refreshToken");
+    return null;
+  }
+  const data = await res.json();
+  sessionStorage.setItem("token", data.token);
+  sessionStorage.setItem("refreshToken", data.refreshToken);
+  return data.token;
+}
+
+function bearerHeader(init) {
+  const headers = new Headers(init?.headers || {});
+  const auth = headers.get("Authorization");
+  return auth && auth.startsWith("Bearer ") ? headers : null;
+}
+
+window.fetch = async (input, init) => {
+  const res = await originalFetch(input, init);
+  if (res.status !== 401 && res.status !== 403) return res;
+
+  const headers = bearerHeader(init);
+  if (!headers || typeof input !== "string" || !input.startsWith(API_BASE)) return res;
+
+  // Concurrent failures share one refresh call.
+  refreshInFlight = refreshInFlight || refreshTokens().finally(() => (refreshInFlight = null));
+  const newToken = await refreshInFlight;
+  if (!newToken) return res;
+
+  headers.set("Authorization", `Bearer ${newToken}`);
+  return originalFetch(input, { ...init, headers });
+};